@@ -24,5 +24,48 @@ INSERT INTO inventory (product_id, quantity, price) VALUES (2, 50, 25000);
 INSERT INTO inventory (product_id, quantity, price) VALUES (3, 200, 5000);
 */
 
+-- orders / payments의 ID는 시퀀스(orders_seq, payments_seq, 50개씩 할당)로 생성합니다.
+-- IDENTITY로 만들어진 기존 테이블에 데이터가 있다면, 애플리케이션 실행 후 시퀀스를 기존 최대 ID 뒤로 옮기세요.
+/*
+SELECT setval('order_db.orders_seq', (SELECT COALESCE(MAX(order_id), 0) + 50 FROM order_db.orders));
+SELECT setval('payment_db.payments_seq', (SELECT COALESCE(MAX(payment_id), 0) + 50 FROM payment_db.payments));
+*/
+
+-- 스위퍼는 updated_at으로 멈춘 주문 / 결제를 찾습니다. 컬럼 추가 전에 만들어진 행은 애플리케이션 실행 후 한 번 채우세요.
+/*
+UPDATE order_db.orders SET updated_at = now() WHERE updated_at IS NULL;
+UPDATE payment_db.payments SET updated_at = now() WHERE updated_at IS NULL;
+*/
+
+-- 주문 타임라인(order_timeline)은 추가만 하는 테이블이므로 occurred_at 기준 월별 파티션으로 만듭니다.
+-- 애플리케이션 실행 전에 만들어 두면 JPA는 이 테이블을 그대로 사용하고, 실행 후에 만들면 JPA가 만든 일반 테이블이 남습니다.
+-- 이번 달 / 다음 달 파티션 생성과 보관 기간(order.timeline.retention-months)이 지난 파티션 삭제는 OrderTimelinePartitions가 합니다.
+CREATE SEQUENCE IF NOT EXISTS order_db.order_timeline_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS order_db.order_timeline (
+    id          bigint       NOT NULL,
+    order_id    bigint       NOT NULL,
+    from_status varchar(20),
+    to_status   varchar(20)  NOT NULL,
+    source      varchar(32)  NOT NULL,
+    event_id    varchar(64),
+    occurred_at timestamp(6) NOT NULL,
+    PRIMARY KEY (id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+
+CREATE INDEX IF NOT EXISTS idx_order_timeline_order_id ON order_db.order_timeline (order_id, occurred_at);
+
+DO $$
+DECLARE
+    month date;
+BEGIN
+    FOREACH month IN ARRAY ARRAY[date_trunc('month', now())::date, (date_trunc('month', now()) + interval '1 month')::date]
+    LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS order_db.order_timeline_%s PARTITION OF order_db.order_timeline '
+                           'FOR VALUES FROM (%L) TO (%L)',
+                       to_char(month, 'YYYYMM'), month, (month + interval '1 month')::date);
+    END LOOP;
+END $$;
+
 -- 스키마 확인
 SELECT schema_name FROM information_schema.schemata WHERE schema_name LIKE '%_db';
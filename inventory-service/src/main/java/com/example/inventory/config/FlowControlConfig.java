@@ -0,0 +1,85 @@
+package com.example.inventory.config;
+
+import com.example.inventory.service.InMemoryStockLedger;
+import com.example.saga.event.kafka.AdaptiveFlowController;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ContainerCustomizer;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.util.Collection;
+import java.util.function.BiConsumer;
+
+/**
+ * order-created 리스너의 재고 예약이 느리거나 실패한 파티션을 잠시 멈추고 다시 시작합니다 (AdaptiveFlowController 파티션 모드).
+ *
+ * - 리스너는 스레드에서 동기로 예약하므로 진행 중인 수로는 멈출 일이 없어, 느린 레코드의 파티션만 pausePartition으로 멈춤
+ *   (핫 상품처럼 잠금 경합이 몰린 파티션이 쉬는 동안 다른 파티션은 계속 처리)
+ * - 쉬는 시간은 target-latency-ms x max-in-flight / limit이며, limit은 리스너 스레드 수와 별개인 max-in-flight에서 시작
+ * - pauseImmediate: 멈추면 이번 poll에서 남은 레코드도 처리하지 않고 재개 후에 처리 (poll 배치를 다 처리할 때까지 기다리지 않음)
+ * - inventory.flow.enabled=false면 진행 중인 수만 기록
+ */
+@Configuration
+public class FlowControlConfig {
+
+    public static final String ORDER_CREATED_LISTENER_ID = "inventory-order-created";
+
+    @Bean
+    public AdaptiveFlowController orderCreatedFlowController(
+            KafkaListenerEndpointRegistry registry,
+            MeterRegistry meterRegistry,
+            TaskScheduler taskScheduler,
+            @Value("${inventory.flow.enabled:true}") boolean enabled,
+            @Value("${inventory.flow.min-limit:1}") int minLimit,
+            @Value("${inventory.flow.max-in-flight:6}") int maxLimit,
+            @Value("${inventory.flow.target-latency-ms:200}") long targetLatencyMs,
+            @Value("${inventory.flow.backoff-ratio:0.7}") double backoffRatio) {
+        AdaptiveFlowController.Settings settings = new AdaptiveFlowController.Settings(
+                enabled, Math.min(minLimit, maxLimit), maxLimit, targetLatencyMs, backoffRatio);
+        return new AdaptiveFlowController(ORDER_CREATED_LISTENER_ID, settings, meterRegistry,
+                new AdaptiveFlowController.PartitionControl() {
+                    @Override
+                    public void pause(TopicPartition partition) {
+                        onPartition(registry, partition, MessageListenerContainer::pausePartition);
+                    }
+
+                    @Override
+                    public void resume(TopicPartition partition) {
+                        onPartition(registry, partition, MessageListenerContainer::resumePartition);
+                    }
+                },
+                taskScheduler);
+    }
+
+    /**
+     * Spring Boot는 ContainerCustomizer를 하나만 적용하므로 리스너 컨테이너 설정을 여기에 모읍니다.
+     * memory 전략이면 order-created 파티션 소유가 바뀔 때 원장 카운터를 다시 읽도록 리밸런스 리스너를 등록합니다.
+     */
+    @Bean
+    public ContainerCustomizer<Object, Object, ConcurrentMessageListenerContainer<Object, Object>> pauseImmediateCustomizer(
+            ObjectProvider<InMemoryStockLedger> stockLedger) {
+        return container -> {
+            container.getContainerProperties().setPauseImmediate(true);
+            stockLedger.ifAvailable(container.getContainerProperties()::setConsumerRebalanceListener);
+        };
+    }
+
+    private static void onPartition(KafkaListenerEndpointRegistry registry, TopicPartition partition,
+                                    BiConsumer<MessageListenerContainer, TopicPartition> action) {
+        // 재시도 토픽 컨테이너도 같은 리스너 메서드를 쓰므로, 파티션을 할당받은 컨테이너를 찾는다
+        for (MessageListenerContainer container : registry.getListenerContainers()) {
+            Collection<TopicPartition> assigned = container.getAssignedPartitions();
+            if (assigned != null && assigned.contains(partition)) {
+                action.accept(container, partition);
+                return;
+            }
+        }
+    }
+}
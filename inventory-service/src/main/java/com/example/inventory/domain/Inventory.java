@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Table(name = "inventory")
@@ -18,4 +19,10 @@ public class Inventory {
     private Integer quantity;
 
     private Integer price;
+
+    // 낙관적 락 전략(optimistic)의 비교 기준. 행을 직접 바꾸는 다른 전략의 UPDATE 문도 함께 올린다
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
 }
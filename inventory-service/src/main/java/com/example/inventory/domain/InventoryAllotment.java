@@ -0,0 +1,44 @@
+package com.example.inventory.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 주문이 몰리는 상품의 재고를 스트라이프(파티션)별로 떼어 둔 몫입니다.
+ * 예약은 자기 스트라이프 행만 차감하므로 inventory 행 하나에 잠금이 몰리지 않습니다.
+ * 몫이 떨어지면 inventory에서 다시 떼어 오고, 상품이 식으면 남은 몫을 inventory로 되돌립니다.
+ */
+@Entity
+@Table(name = "inventory_allotment")
+@IdClass(InventoryAllotment.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryAllotment {
+
+    @Id
+    private Long productId;
+
+    @Id
+    private Integer stripe;
+
+    private Integer remaining;
+
+    // 떼어 올 때의 단가 (예약 시 inventory 행을 읽지 않기 위해 함께 보관)
+    private Integer price;
+
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long productId;
+        private Integer stripe;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.inventory.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 인메모리 재고 원장의 변경분(delta)입니다.
+ * 주기적으로 inventory 테이블에 합산된 뒤 삭제되며, 재시작 시 inventory + 남은 journal로 원장을 복구합니다.
+ */
+@Entity
+@Table(name = "inventory_journal")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryJournal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long productId;
+    private Integer delta;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,55 @@
+package com.example.inventory.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문별로 차감한 재고 기록입니다.
+ * 보상 트랜잭션은 orderId만으로 이 기록을 찾아 재고를 복구합니다.
+ */
+@Entity
+@Table(name = "inventory_reservation")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryReservation implements Persistable<Long> {
+
+    @Id
+    private Long orderId;
+
+    private Long productId;
+    private Integer quantity;
+
+    @Enumerated(EnumType.STRING)
+    private ReservationStatus status;
+
+    private LocalDateTime reservedAt;
+
+    // orderId를 직접 지정하므로 save() 시 불필요한 SELECT(merge)를 하지 않도록 신규 여부를 직접 관리한다
+    @Transient
+    @Builder.Default
+    private boolean newEntity = true;
+
+    @Override
+    public Long getId() {
+        return orderId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.inventory.domain;
+
+public enum ReservationStatus {
+    RESERVED,   // 재고 차감됨
+    RELEASED    // 보상 트랜잭션으로 재고 복구됨
+}
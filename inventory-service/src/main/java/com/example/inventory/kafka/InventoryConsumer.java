@@ -1,34 +1,100 @@
 package com.example.inventory.kafka;
 
-import com.example.inventory.dto.event.OrderCreatedEvent;
-import com.example.inventory.dto.event.OrderFailedEvent;
+import com.example.inventory.config.FlowControlConfig;
+import com.example.inventory.metrics.SagaMetrics;
 import com.example.inventory.service.InventoryService;
+import com.example.saga.event.OrderCreatedEvent;
+import com.example.saga.event.OrderFailedEvent;
+import com.example.saga.event.idempotency.ProcessedEventStore;
+import com.example.saga.event.kafka.AdaptiveFlowController;
+import com.example.saga.event.kafka.SagaRetryableTopic;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class InventoryConsumer {
 
     private final InventoryService inventoryService;
+    private final ProcessedEventStore processedEventStore;
+    private final SagaMetrics sagaMetrics;
+    private final AdaptiveFlowController flowController;
 
     /**
      * order-created 토픽을 구독하여 주문 생성 이벤트를 처리합니다.
      * TODO: 1. @KafkaListener 설정
      * TODO: 2. 메시지 파싱 (orderId, productId, userId, quantity)
      * TODO: 3. InventoryService.reserveInventory() 호출
+     *
+     * 재고 예약 지연 / 실패는 flowController에 알려, 예약이 느려진 파티션을 잠시 멈추고 다른 파티션을 먼저 처리합니다.
+     */
+    @SagaRetryableTopic
+    @KafkaListener(id = FlowControlConfig.ORDER_CREATED_LISTENER_ID, topics = "order-created", groupId = "inventory-service-group",
+            concurrency = "${saga.kafka.listener.concurrency:1}",
+            autoStartup = "#{!${inventory.consumer.batch-mode:false}}")
+    public void consumeOrderCreatedEvent(OrderCreatedEvent event,
+                                         @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
+                                         @Header(KafkaHeaders.RECEIVED_PARTITION) int partition) {
+        long start = System.nanoTime();
+        SagaMetrics.StageTimers timers = sagaMetrics.stage("order-created");
+        timers.recordQueueWait(event.getOccurredAt());
+        if (processedEventStore.isKnownDuplicate(event.getEventId())) {
+            return;
+        }
+        long dbStart = flowController.acquire();
+        boolean success = false;
+        try {
+            inventoryService.reserveInventory(
+                    event.getOrderId(),
+                    event.getProductId(),
+                    event.getUserId(),
+                    event.getQuantity(),
+                    event.getEventId(),
+                    event.getSagaStartedAt(),
+                    partition
+            );
+            success = true;
+        } finally {
+            flowController.release(new TopicPartition(topic, partition), dbStart, success);
+        }
+        timers.recordDb(dbStart);
+        timers.recordHandler(start);
+    }
+
+    /**
+     * order-created 토픽을 배치 단위로 구독합니다 (inventory.consumer.batch-mode=true 일 때 사용).
+     * 한 번의 poll로 받은 주문들을 상품별로 묶어 상품 행 잠금을 배치당 한 번으로 줄입니다.
+     * 재시도 토픽은 배치 리스너를 지원하지 않으므로 실패 시 기본 에러 핸들러로 배치 전체를 재시도합니다.
      */
-    @KafkaListener(topics = "order-created", groupId = "inventory-service-group")
-    public void consumeOrderCreatedEvent(OrderCreatedEvent event) {
-        inventoryService.reserveInventory(
-                event.getOrderId(),
-                event.getProductId(),
-                event.getUserId(),
-                event.getQuantity()
-        );
+    @KafkaListener(topics = "order-created", groupId = "inventory-service-group",
+            concurrency = "${saga.kafka.listener.concurrency:1}", batch = "true",
+            autoStartup = "${inventory.consumer.batch-mode:false}")
+    public void consumeOrderCreatedEvents(List<OrderCreatedEvent> events) {
+        long start = System.nanoTime();
+        SagaMetrics.StageTimers timers = sagaMetrics.stage("order-created-batch");
+        for (OrderCreatedEvent event : events) {
+            timers.recordQueueWait(event.getOccurredAt());
+        }
+        List<OrderCreatedEvent> candidates = events.stream()
+                .filter(event -> !processedEventStore.isKnownDuplicate(event.getEventId()))
+                .toList();
+        if (!candidates.isEmpty()) {
+            long dbStart = System.nanoTime();
+            inventoryService.reserveInventoryBatch(candidates);
+            timers.recordDb(dbStart);
+        }
+        timers.recordHandler(start);
     }
 
     /**
@@ -37,12 +103,32 @@ public class InventoryConsumer {
      * TODO: 2. InventoryService.rollbackInventory() 호출
      * TODO: 3. 실패 사유 로깅
      */
-    @KafkaListener(topics = "order-failed", groupId = "inventory-service-group")
+    @SagaRetryableTopic
+    @KafkaListener(topics = "order-failed", groupId = "inventory-service-group",
+            concurrency = "${saga.kafka.listener.concurrency:1}")
     public void consumeOrderFailedEvent(OrderFailedEvent event) {
-        inventoryService.rollbackInventory(
-                event.getOrderId(),
-                event.getProductId(),
-                event.getQuantity()
-        );
+        long start = System.nanoTime();
+        SagaMetrics.StageTimers timers = sagaMetrics.stage("order-failed");
+        timers.recordQueueWait(event.getOccurredAt());
+        if (processedEventStore.isKnownDuplicate(event.getEventId())) {
+            return;
+        }
+        log.info("주문 실패 이벤트를 수신했습니다. orderId={}, reason={}", event.getOrderId(), event.getReason());
+        long dbStart = System.nanoTime();
+        inventoryService.rollbackInventory(event.getOrderId(), event.getEventId());
+        timers.recordDb(dbStart);
+        timers.recordHandler(start);
+    }
+
+    /**
+     * 재시도를 모두 실패했거나 재시도할 수 없는 메시지(주문 없음, 잘못된 데이터 등)가 DLT에 도착하면 기록합니다.
+     * 원인을 해결한 뒤 POST /admin/dlt/{topic}/replay로 이 서비스의 재시도 토픽에 다시 보낼 수 있습니다.
+     */
+    @DltHandler
+    public void handleDeadLetter(ConsumerRecord<String, Object> record) {
+        org.apache.kafka.common.header.Header error = record.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_MESSAGE);
+        log.error("DLT로 이동한 메시지입니다. topic={}, key={}, error={}", record.topic(), record.key(),
+                error != null ? new String(error.value(), StandardCharsets.UTF_8) : null);
+        sagaMetrics.incrementDeadLetters(record.topic());
     }
 }
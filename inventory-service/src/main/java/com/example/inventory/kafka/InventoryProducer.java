@@ -1,43 +1,72 @@
 package com.example.inventory.kafka;
 
-import com.example.inventory.dto.event.InventoryReservedEvent;
-import com.example.inventory.dto.event.OrderFailedEvent;
+import com.example.inventory.domain.OutboxEvent;
+import com.example.inventory.repository.OutboxEventRepository;
+import com.example.saga.event.InventoryReservedEvent;
+import com.example.saga.event.OrderFailedEvent;
+import com.example.saga.event.codec.SagaEventCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 이벤트를 outbox_event 테이블에 기록합니다.
+ * 호출한 트랜잭션과 함께 커밋되며, 실제 Kafka 전송은 OutboxRelay가 담당합니다.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class InventoryProducer {
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxEventRepository outboxEventRepository;
 
     /**
      * inventory-reserved 토픽에 재고 예약 완료 이벤트를 발행합니다.
      * TODO: kafkaTemplate.send() 사용
      */
-    public void sendInventoryReservedEvent(Long orderId, Long userId, Integer amount) {
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void sendInventoryReservedEvent(Long orderId, Long userId, Integer amount, Long sagaStartedAt) {
         // Topic name: "inventory-reserved"
         InventoryReservedEvent event = InventoryReservedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .sagaStartedAt(sagaStartedAt)
+                .occurredAt(System.currentTimeMillis())
                 .orderId(orderId)
                 .userId(userId)
                 .amount(amount)
                 .build();
-        kafkaTemplate.send("inventory-reserved", event);
+        saveOutboxEvent("inventory-reserved", orderId, event);
     }
 
     /**
      * order-failed 토픽에 주문 실패 이벤트를 발행합니다.
      * TODO: 재고 부족 등의 이유로 주문 실패 시 사용
      */
-    public void sendOrderFailedEvent(Long orderId, String reason) {
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void sendOrderFailedEvent(Long orderId, String reason, Long sagaStartedAt) {
         // Topic name: "order-failed"
         OrderFailedEvent event = OrderFailedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .sagaStartedAt(sagaStartedAt)
+                .occurredAt(System.currentTimeMillis())
                 .orderId(orderId)
                 .reason(reason)
                 .build();
-        kafkaTemplate.send("order-failed", event);
+        saveOutboxEvent("order-failed", orderId, event);
+    }
+
+    private void saveOutboxEvent(String topic, Long key, Object event) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .topic(topic)
+                .messageKey(String.valueOf(key))
+                .eventType(event.getClass().getName())
+                .body(SagaEventCodec.encode(event))
+                .createdAt(LocalDateTime.now())
+                .build());
     }
 }
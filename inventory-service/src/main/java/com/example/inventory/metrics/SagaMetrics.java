@@ -0,0 +1,60 @@
+package com.example.inventory.metrics;
+
+import com.example.saga.event.metrics.AbstractSagaMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 이 서비스의 사가 지표입니다. 단계별 지연, outbox, 전송, DLT 지표는 AbstractSagaMetrics에 있습니다.
+ *
+ * saga.hotkey.products / saga.hotkey.transitions{change}: 주문이 몰리는 상품 수와 hot / cold 전환 횟수
+ * saga.inventory.allotment{path}: hot 상품 예약이 처리된 경로 (local / rebalanced / fallback)
+ */
+@Component
+public class SagaMetrics extends AbstractSagaMetrics {
+
+    private final Map<String, Counter> hotKeyTransitions = new ConcurrentHashMap<>();
+    private final Map<String, Counter> allotmentReservations = new ConcurrentHashMap<>();
+    private final Counter compensations;
+
+    public SagaMetrics(MeterRegistry meterRegistry) {
+        super(meterRegistry);
+        this.compensations = Counter.builder("saga.compensations").register(meterRegistry);
+    }
+
+    /**
+     * 주문이 몰려 hot이 된(promoted) / 다시 cold가 된(cooled) 상품 수입니다.
+     */
+    public void incrementHotKeyTransitions(String change) {
+        hotKeyTransitions.computeIfAbsent(change, name -> Counter.builder("saga.hotkey.transitions")
+                .tag("change", name)
+                .register(meterRegistry)).increment();
+    }
+
+    public void registerHotProducts(Supplier<Number> hotProducts) {
+        Gauge.builder("saga.hotkey.products", hotProducts).register(meterRegistry);
+    }
+
+    /**
+     * hot 상품 예약의 처리 경로입니다.
+     * local: 스트라이프 몫에서 차감 / rebalanced: inventory에서 몫을 떼어 온 뒤 차감 / fallback: 일반 차감 전략으로 처리
+     */
+    public void incrementAllotmentReservations(String path) {
+        allotmentReservations.computeIfAbsent(path, name -> Counter.builder("saga.inventory.allotment")
+                .tag("path", name)
+                .register(meterRegistry)).increment();
+    }
+
+    /**
+     * 보상 트랜잭션으로 실제로 재고를 복구한 횟수입니다.
+     */
+    public void incrementCompensations() {
+        compensations.increment();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.inventory.repository;
+
+import com.example.inventory.domain.InventoryAllotment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 잠금 순서는 항상 inventory 행 → inventory_allotment 행입니다 (떼어 오기 / 되돌리기 사이의 데드락 방지).
+ */
+@Repository
+public interface InventoryAllotmentRepository extends JpaRepository<InventoryAllotment, InventoryAllotment.Key> {
+
+    // 자기 스트라이프에 몫이 충분할 때만 차감하고 단가를 돌려준다
+    @Query(value = """
+            UPDATE inventory_allotment SET remaining = remaining - :quantity, updated_at = now()
+            WHERE product_id = :productId AND stripe = :stripe AND remaining >= :quantity
+            RETURNING price
+            """, nativeQuery = true)
+    Optional<Integer> take(@Param("productId") Long productId, @Param("stripe") int stripe,
+                           @Param("quantity") int quantity);
+
+    // inventory에서 최대 amount만큼 떼어 스트라이프에 더하고, 실제로 떼어 온 수량을 돌려준다
+    @Query(value = """
+            WITH source AS (
+                SELECT product_id, LEAST(quantity, :amount) AS carved
+                FROM inventory WHERE product_id = :productId FOR UPDATE
+            ), taken AS (
+                UPDATE inventory i SET quantity = i.quantity - s.carved, version = i.version + 1
+                FROM source s
+                WHERE i.product_id = s.product_id AND s.carved > 0
+                RETURNING i.product_id, s.carved, i.price
+            ), stored AS (
+                INSERT INTO inventory_allotment (product_id, stripe, remaining, price, updated_at)
+                SELECT product_id, :stripe, carved, price, now() FROM taken
+                ON CONFLICT (product_id, stripe) DO UPDATE
+                SET remaining = inventory_allotment.remaining + EXCLUDED.remaining,
+                    price = EXCLUDED.price,
+                    updated_at = EXCLUDED.updated_at
+            )
+            SELECT COALESCE(SUM(carved), 0) FROM taken
+            """, nativeQuery = true)
+    long carve(@Param("productId") Long productId, @Param("stripe") int stripe, @Param("amount") int amount);
+
+    @Query(value = "SELECT quantity FROM inventory WHERE product_id = :productId FOR UPDATE", nativeQuery = true)
+    Optional<Integer> lockInventory(@Param("productId") Long productId);
+
+    // 모든 스트라이프의 남은 몫을 inventory로 되돌린다 (lockInventory로 inventory 행을 먼저 잠근 뒤 호출)
+    @Modifying
+    @Query(value = """
+            WITH drained AS (
+                DELETE FROM inventory_allotment WHERE product_id = :productId RETURNING remaining
+            )
+            UPDATE inventory
+            SET quantity = quantity + (SELECT COALESCE(SUM(remaining), 0) FROM drained), version = version + 1
+            WHERE product_id = :productId
+            """, nativeQuery = true)
+    int drain(@Param("productId") Long productId);
+
+    // idleMs 넘게 차감도 떼어 오기도 없었던 스트라이프의 몫만 되돌린다 (lockInventory로 inventory 행을 먼저 잠근 뒤 호출)
+    @Modifying
+    @Query(value = """
+            WITH drained AS (
+                DELETE FROM inventory_allotment
+                WHERE product_id = :productId AND updated_at < now() - :idleMs * interval '1 millisecond'
+                RETURNING remaining
+            )
+            UPDATE inventory
+            SET quantity = quantity + (SELECT COALESCE(SUM(remaining), 0) FROM drained), version = version + 1
+            WHERE product_id = :productId
+            """, nativeQuery = true)
+    int drainIdle(@Param("productId") Long productId, @Param("idleMs") long idleMs);
+
+    @Query("SELECT COALESCE(SUM(a.remaining), 0) FROM InventoryAllotment a WHERE a.productId = :productId")
+    long sumRemaining(@Param("productId") Long productId);
+
+    @Query(value = """
+            SELECT DISTINCT product_id FROM inventory_allotment
+            WHERE updated_at < now() - :idleMs * interval '1 millisecond'
+            """, nativeQuery = true)
+    List<Long> findIdleProductIds(@Param("idleMs") long idleMs);
+}
@@ -0,0 +1,54 @@
+package com.example.inventory.repository;
+
+import com.example.inventory.domain.InventoryJournal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InventoryJournalRepository extends JpaRepository<InventoryJournal, Long> {
+
+    interface StockSnapshot {
+        Long getProductId();
+        Integer getPrice();
+        Long getAvailable();
+    }
+
+    // inventory와 아직 반영되지 않은 journal을 하나의 스냅샷으로 읽는다
+    @Query(value = """
+            SELECT i.product_id AS "productId", i.price AS "price",
+                   i.quantity + COALESCE(SUM(j.delta), 0) AS "available"
+            FROM inventory i
+            LEFT JOIN inventory_journal j ON j.product_id = i.product_id
+            GROUP BY i.product_id, i.price, i.quantity
+            """, nativeQuery = true)
+    List<StockSnapshot> findAllStockSnapshots();
+
+    @Query(value = """
+            SELECT i.product_id AS "productId", i.price AS "price",
+                   i.quantity + COALESCE(SUM(j.delta), 0) AS "available"
+            FROM inventory i
+            LEFT JOIN inventory_journal j ON j.product_id = i.product_id
+            WHERE i.product_id = :productId
+            GROUP BY i.product_id, i.price, i.quantity
+            """, nativeQuery = true)
+    Optional<StockSnapshot> findStockSnapshot(@Param("productId") Long productId);
+
+    // journal 삭제와 inventory 합산을 한 문장으로 처리해 중간에 커밋된 journal이 누락되지 않게 한다
+    @Modifying
+    @Query(value = """
+            WITH flushed AS (
+                DELETE FROM inventory_journal RETURNING product_id, delta
+            )
+            UPDATE inventory i
+            SET quantity = i.quantity + d.delta, version = i.version + 1
+            FROM (SELECT product_id, SUM(delta) AS delta FROM flushed GROUP BY product_id) d
+            WHERE i.product_id = d.product_id
+            """, nativeQuery = true)
+    int flushToInventory();
+}
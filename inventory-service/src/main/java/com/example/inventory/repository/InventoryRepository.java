@@ -4,6 +4,7 @@ import com.example.inventory.domain.Inventory;
 import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -16,4 +17,36 @@ public interface InventoryRepository extends JpaRepository<Inventory, Long> {
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT i FROM Inventory i WHERE i.productId = :productId")
     Optional<Inventory> findByProductIdWithLock(@Param("productId") Long productId);
+
+    interface StockVersion {
+        Integer getQuantity();
+        Integer getPrice();
+        Long getVersion();
+    }
+
+    // 영속성 컨텍스트를 거치지 않고 매번 DB에서 현재 값을 읽는다 (낙관적 락 재시도용)
+    @Query("SELECT i.quantity AS quantity, i.price AS price, i.version AS version FROM Inventory i WHERE i.productId = :productId")
+    Optional<StockVersion> findStockVersion(@Param("productId") Long productId);
+
+    // 읽은 뒤 다른 트랜잭션이 바꾸지 않았을 때만 반영한다. 0이면 그사이 버전이 바뀐 것
+    @Modifying
+    @Query("""
+            UPDATE Inventory i SET i.quantity = :quantity, i.version = i.version + 1
+            WHERE i.productId = :productId AND i.version = :version
+            """)
+    int updateQuantityIfVersion(@Param("productId") Long productId, @Param("quantity") int quantity,
+                                @Param("version") Long version);
+
+    // 재고가 충분할 때만 한 문장으로 차감하고 단가를 돌려준다. 상품이 없거나 재고가 부족하면 빈 값
+    @Query(value = """
+            UPDATE inventory SET quantity = quantity - :quantity, version = version + 1
+            WHERE product_id = :productId AND quantity >= :quantity
+            RETURNING price
+            """, nativeQuery = true)
+    Optional<Integer> decrementIfAvailable(@Param("productId") Long productId, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query(value = "UPDATE inventory SET quantity = quantity + :quantity, version = version + 1 WHERE product_id = :productId",
+            nativeQuery = true)
+    int increment(@Param("productId") Long productId, @Param("quantity") int quantity);
 }
@@ -0,0 +1,9 @@
+package com.example.inventory.repository;
+
+import com.example.inventory.domain.InventoryReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface InventoryReservationRepository extends JpaRepository<InventoryReservation, Long> {
+}
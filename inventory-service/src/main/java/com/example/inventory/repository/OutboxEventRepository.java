@@ -0,0 +1,39 @@
+package com.example.inventory.repository;
+
+import com.example.inventory.domain.OutboxEvent;
+import com.example.saga.event.outbox.OutboxRecordSource;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long>, OutboxRecordSource {
+    // 키 버킷을 이 트랜잭션 동안 잠근다. 다른 릴레이 인스턴스가 잡고 있는 버킷은 건너뛴다
+    @Query(value = """
+            SELECT b FROM generate_series(0, :buckets - 1) AS b
+            WHERE pg_try_advisory_xact_lock(hashtext(current_schema() || '.outbox_event'), b)
+            """, nativeQuery = true)
+    List<Integer> lockKeyBuckets(@Param("buckets") int buckets);
+
+    @Query(value = """
+            SELECT * FROM outbox_event
+            WHERE (hashtext(COALESCE(message_key, '')) & 2147483647) % :buckets IN (:owned)
+            ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> findBatchForRelay(@Param("limit") int limit, @Param("buckets") int buckets,
+                                        @Param("owned") List<Integer> owned);
+
+    @Override
+    default List<OutboxEvent> lockBatchForRelay(int limit, int keyBuckets) {
+        List<Integer> owned = lockKeyBuckets(keyBuckets);
+        return owned.isEmpty() ? List.of() : findBatchForRelay(limit, keyBuckets, owned);
+    }
+
+    @Override
+    default void deleteRelayed(List<Long> ids) {
+        deleteAllByIdInBatch(ids);
+    }
+}
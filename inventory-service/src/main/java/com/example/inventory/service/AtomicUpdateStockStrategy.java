@@ -0,0 +1,38 @@
+package com.example.inventory.service;
+
+import com.example.inventory.repository.InventoryRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 조건부 UPDATE 한 문장으로 재고를 확인하고 차감합니다 (inventory.reservation.strategy=atomic).
+ *
+ * - SELECT ... FOR UPDATE 후 값을 바꾸는 왕복 없이, quantity >= 주문수량일 때만 차감하고 단가를 RETURNING으로 받음
+ * - 행 잠금은 UPDATE 시점부터 커밋까지만 잡히므로 잠금을 잡기 전 조회 / 엔티티 로딩 시간이 대기열에 더해지지 않음
+ * - 차감되지 않았을 때만 상품 존재 여부를 한 번 더 조회하여 재고 부족과 상품 없음을 구분
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.reservation.strategy", havingValue = "atomic")
+public class AtomicUpdateStockStrategy implements StockReservationStrategy {
+
+    private final InventoryRepository inventoryRepository;
+
+    @Override
+    public StockReservation reserve(Long productId, int quantity) {
+        return inventoryRepository.decrementIfAvailable(productId, quantity)
+                .map(StockReservation::reserved)
+                .orElseGet(() -> inventoryRepository.existsById(productId)
+                        ? StockReservation.outOfStock()
+                        : StockReservation.productNotFound());
+    }
+
+    @Override
+    public void release(Long productId, int quantity) {
+        if (inventoryRepository.increment(productId, quantity) == 0) {
+            throw new EntityNotFoundException("상품이 존재하지 않습니다.");
+        }
+    }
+}
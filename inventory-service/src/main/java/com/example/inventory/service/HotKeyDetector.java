@@ -0,0 +1,139 @@
+package com.example.inventory.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 최근 window 동안 주문이 몰린 상품(hot key)을 찾습니다.
+ *
+ * - 상품별 주문 수를 count-min sketch(행 4개 x 열 width)로 근사하여 상품 수와 무관한 고정 메모리로 셈
+ * - window를 buckets개 구간으로 나눠 구간마다 sketch를 두고, 가장 오래된 구간을 비우며 밀어 가는 슬라이딩 윈도
+ * - 추정치가 min-count 이상이고 전체 주문의 share 이상이면 hot, 절반 아래로 내려가면 다시 cold (sweep에서 판단)
+ *
+ * 추정치는 실제보다 크거나 같으므로 드물게 cold 상품이 hot으로 잡힐 수 있지만, 그 경우에도 예약 결과는 같습니다.
+ * 스프링 빈이 아니며 HotProductAllotments가 만들어 사용합니다.
+ */
+public class HotKeyDetector {
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L};
+
+    private final int widthMask;
+    private final long bucketNanos;
+    private final long minCount;
+    private final double share;
+    private final AtomicLongArray[] sketches;
+    private final AtomicLong[] totals;
+    private final Set<Long> hotKeys = ConcurrentHashMap.newKeySet();
+
+    private volatile int current;
+    private volatile long currentStartedAt = System.nanoTime();
+
+    public HotKeyDetector(long windowMs, int buckets, int width, long minCount, double share) {
+        // 열 인덱스를 비트 마스크로 구하도록 2의 거듭제곱으로 내림
+        int roundedWidth = Integer.highestOneBit(Math.max(16, width));
+        this.widthMask = roundedWidth - 1;
+        this.bucketNanos = TimeUnit.MILLISECONDS.toNanos(windowMs) / buckets;
+        this.minCount = minCount;
+        this.share = share;
+        this.sketches = new AtomicLongArray[buckets];
+        this.totals = new AtomicLong[buckets];
+        for (int i = 0; i < buckets; i++) {
+            sketches[i] = new AtomicLongArray(DEPTH * roundedWidth);
+            totals[i] = new AtomicLong();
+        }
+    }
+
+    /**
+     * 주문 한 건을 셉니다. 이번 주문으로 hot이 되었으면 true를 돌려줍니다.
+     */
+    public boolean record(long key) {
+        rotateIfNeeded();
+        int bucket = current;
+        AtomicLongArray sketch = sketches[bucket];
+        for (int row = 0; row < DEPTH; row++) {
+            sketch.incrementAndGet(index(row, key));
+        }
+        totals[bucket].incrementAndGet();
+        return !hotKeys.contains(key) && estimate(key) >= threshold() && hotKeys.add(key);
+    }
+
+    public boolean isHot(long key) {
+        return hotKeys.contains(key);
+    }
+
+    public int hotKeyCount() {
+        return hotKeys.size();
+    }
+
+    /**
+     * 추정치가 hot 기준의 절반 아래로 내려간 상품을 cold로 돌리고 그 목록을 돌려줍니다.
+     */
+    public List<Long> sweep() {
+        rotateIfNeeded();
+        double coolBelow = threshold() / 2;
+        List<Long> cooled = new ArrayList<>();
+        for (Long key : hotKeys) {
+            if (estimate(key) < coolBelow && hotKeys.remove(key)) {
+                cooled.add(key);
+            }
+        }
+        return cooled;
+    }
+
+    long estimate(long key) {
+        long sum = 0;
+        for (AtomicLongArray sketch : sketches) {
+            long min = Long.MAX_VALUE;
+            for (int row = 0; row < DEPTH; row++) {
+                min = Math.min(min, sketch.get(index(row, key)));
+            }
+            sum += min;
+        }
+        return sum;
+    }
+
+    private double threshold() {
+        long total = 0;
+        for (AtomicLong bucketTotal : totals) {
+            total += bucketTotal.get();
+        }
+        return Math.max(minCount, share * total);
+    }
+
+    private void rotateIfNeeded() {
+        if (System.nanoTime() - currentStartedAt < bucketNanos) {
+            return;
+        }
+        synchronized (this) {
+            long now = System.nanoTime();
+            // 오래 조용했으면 지난 구간을 모두 비운다
+            long elapsedBuckets = Math.min(sketches.length, (now - currentStartedAt) / bucketNanos);
+            int next = current;
+            for (long i = 0; i < elapsedBuckets; i++) {
+                next = (next + 1) % sketches.length;
+                AtomicLongArray sketch = sketches[next];
+                for (int j = 0; j < sketch.length(); j++) {
+                    sketch.set(j, 0);
+                }
+                totals[next].set(0);
+            }
+            if (elapsedBuckets > 0) {
+                current = next;
+                currentStartedAt = now;
+            }
+        }
+    }
+
+    private int index(int row, long key) {
+        long hash = (key + SEEDS[row]) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 31)) * 0x94D049BB133111EBL;
+        hash ^= hash >>> 29;
+        return row * (widthMask + 1) + (int) (hash & widthMask);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.inventory.service;
+
+import com.example.inventory.metrics.SagaMetrics;
+import com.example.inventory.repository.InventoryAllotmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문이 몰리는 상품(HotKeyDetector)의 재고를 스트라이프별 몫(inventory_allotment)으로 나눠 예약합니다.
+ *
+ * - 스트라이프는 order-created 파티션 (파티션이 없으면 스레드) 기준이므로, 같은 상품의 예약끼리 같은 행을 잠그지 않음
+ * - 몫이 떨어지면 inventory에서 chunk만큼 떼어 옴 (이때만 inventory 행을 잠금)
+ * - inventory에 chunk만큼 남아 있지 않으면 몫을 모두 되돌리고 cool-off 동안 일반 경로로 처리 (마지막 재고가 몫에 갇히지 않게)
+ * - idle-ms 동안 쓰이지 않은 스트라이프의 남은 몫은 sweep에서 inventory로 되돌림
+ *   (hot 판단은 인스턴스마다 다르므로, 다른 인스턴스가 쓰고 있는 스트라이프는 건드리지 않도록 updated_at 기준으로 판단)
+ *
+ * cold 상품과 비활성(inventory.hot-key.enabled=false, memory 전략) 상태에서는 빈 값을 돌려주어 기존 차감 전략을 사용합니다.
+ * 모든 예약 메서드는 호출한 트랜잭션 안에서 실행됩니다.
+ */
+@Slf4j
+@Component
+public class HotProductAllotments {
+
+    private final InventoryAllotmentRepository inventoryAllotmentRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SagaMetrics sagaMetrics;
+    private final HotKeyDetector detector;
+    private final boolean enabled;
+    private final int stripes;
+    private final int chunk;
+    private final long coolOffNanos;
+    private final long idleMs;
+    private final Map<Long, Long> lowStockUntil = new ConcurrentHashMap<>();
+
+    public HotProductAllotments(InventoryAllotmentRepository inventoryAllotmentRepository,
+                                TransactionTemplate transactionTemplate,
+                                SagaMetrics sagaMetrics,
+                                @Value("${inventory.hot-key.enabled:true}") boolean enabled,
+                                @Value("${inventory.reservation.strategy:pessimistic}") String strategy,
+                                @Value("${inventory.hot-key.window-ms:10000}") long windowMs,
+                                @Value("${inventory.hot-key.buckets:5}") int buckets,
+                                @Value("${inventory.hot-key.sketch-width:2048}") int sketchWidth,
+                                @Value("${inventory.hot-key.min-count:200}") long minCount,
+                                @Value("${inventory.hot-key.share:0.05}") double share,
+                                @Value("${inventory.hot-key.stripes:${saga.kafka.topic.partitions:6}}") int stripes,
+                                @Value("${inventory.hot-key.chunk:50}") int chunk,
+                                @Value("${inventory.hot-key.idle-ms:${inventory.hot-key.window-ms:10000}}") long idleMs) {
+        this.inventoryAllotmentRepository = inventoryAllotmentRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.sagaMetrics = sagaMetrics;
+        // 인메모리 원장은 이미 행을 잠그지 않으므로 나누지 않는다
+        this.enabled = enabled && !"memory".equals(strategy);
+        this.detector = new HotKeyDetector(windowMs, buckets, sketchWidth, minCount, share);
+        this.stripes = stripes;
+        this.chunk = chunk;
+        this.coolOffNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.idleMs = idleMs;
+        sagaMetrics.registerHotProducts(detector::hotKeyCount);
+    }
+
+    /**
+     * hot 상품이면 자기 스트라이프의 몫에서 예약합니다. 일반 경로로 처리해야 하면 빈 값을 돌려줍니다.
+     *
+     * @param partition order-created 파티션 (없으면 null)
+     */
+    public Optional<StockReservation> tryReserve(Long productId, int quantity, Integer partition) {
+        if (!enabled || productId == null) {
+            return Optional.empty();
+        }
+        if (detector.record(productId)) {
+            sagaMetrics.incrementHotKeyTransitions("promoted");
+            log.info("주문이 몰리는 상품을 감지했습니다. productId={}", productId);
+        }
+        if (!detector.isHot(productId) || isLowStock(productId)) {
+            return Optional.empty();
+        }
+
+        int stripe = Math.floorMod(partition != null ? partition : (int) Thread.currentThread().threadId(), stripes);
+        Optional<Integer> price = inventoryAllotmentRepository.take(productId, stripe, quantity);
+        if (price.isPresent()) {
+            sagaMetrics.incrementAllotmentReservations("local");
+            return price.map(StockReservation::reserved);
+        }
+
+        int wanted = Math.max(chunk, quantity);
+        if (inventoryAllotmentRepository.carve(productId, stripe, wanted) < wanted) {
+            // 남은 재고가 적으면 몫을 모두 되돌려 일반 경로가 전체 재고를 보게 한다
+            lowStockUntil.put(productId, System.nanoTime() + coolOffNanos);
+            drain(productId);
+            sagaMetrics.incrementAllotmentReservations("fallback");
+            return Optional.empty();
+        }
+        price = inventoryAllotmentRepository.take(productId, stripe, quantity);
+        sagaMetrics.incrementAllotmentReservations(price.isPresent() ? "rebalanced" : "fallback");
+        return price.map(StockReservation::reserved);
+    }
+
+    /**
+     * 조회 API에 더할, 스트라이프에 떼어 둔 재고 수량입니다.
+     */
+    public int allottedQuantity(Long productId) {
+        return enabled ? Math.toIntExact(inventoryAllotmentRepository.sumRemaining(productId)) : 0;
+    }
+
+    /**
+     * idle-ms 넘게 쓰이지 않은 스트라이프의 몫을 되돌립니다.
+     * 이 인스턴스에서 cold인 상품이라도 다른 인스턴스가 차감 중인 스트라이프는 updated_at이 갱신되므로 남겨 둡니다.
+     */
+    @Scheduled(fixedDelayString = "${inventory.hot-key.sweep-interval-ms:2000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        List<Long> cooled = detector.sweep();
+        cooled.forEach(productId -> sagaMetrics.incrementHotKeyTransitions("cooled"));
+        lowStockUntil.values().removeIf(until -> System.nanoTime() - until > 0);
+
+        for (Long productId : inventoryAllotmentRepository.findIdleProductIds(idleMs)) {
+            transactionTemplate.executeWithoutResult(status -> {
+                inventoryAllotmentRepository.lockInventory(productId);
+                inventoryAllotmentRepository.drainIdle(productId, idleMs);
+            });
+            log.info("쓰이지 않는 스트라이프 재고를 되돌렸습니다. productId={}", productId);
+        }
+    }
+
+    private boolean isLowStock(Long productId) {
+        Long until = lowStockUntil.get(productId);
+        return until != null && System.nanoTime() - until < 0;
+    }
+
+    private void drain(Long productId) {
+        inventoryAllotmentRepository.lockInventory(productId);
+        inventoryAllotmentRepository.drain(productId);
+    }
+}
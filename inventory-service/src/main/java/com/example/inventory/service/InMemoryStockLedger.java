@@ -0,0 +1,221 @@
+package com.example.inventory.service;
+
+import com.example.inventory.domain.Inventory;
+import com.example.inventory.domain.InventoryJournal;
+import com.example.inventory.repository.InventoryJournalRepository;
+import com.example.inventory.repository.InventoryJournalRepository.StockSnapshot;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Utils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 재고 수량을 메모리에서 관리하는 전략입니다 (inventory.reservation.strategy=memory).
+ *
+ * - 상품별 카운터를 Kafka 기본 파티셔너와 같은 해시로 샤딩하여 보관
+ * - 차감/복구는 CAS로 처리하고 inventory 행을 잠그지 않음
+ * - 변경분은 같은 트랜잭션에서 inventory_journal에 기록되고, 주기적으로 inventory에 합산
+ * - 재시작 시 inventory + 남은 journal로 원장을 복구
+ *
+ * 한 상품의 재고는 한 인스턴스만 변경한다고 가정하므로 order-created 키가 productId일 때만 기동합니다
+ * (saga.kafka.order-created-key=product-id). order-created 파티션이 이 인스턴스로 옮겨오거나 떠나면
+ * 그 파티션에 속한 상품의 카운터를 버리고, 다음 요청 때 inventory + journal에서 다시 읽어
+ * 이전 소유 인스턴스가 바꾼 재고를 반영합니다 (리스너 컨테이너의 리밸런스 리스너로 등록됨).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "inventory.reservation.strategy", havingValue = "memory")
+public class InMemoryStockLedger implements StockReservationStrategy, ConsumerAwareRebalanceListener {
+
+    private static final String ORDER_CREATED_TOPIC = "order-created";
+
+    private final InventoryJournalRepository inventoryJournalRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentHashMap<Long, StockCell>[] shards;
+
+    @SuppressWarnings("unchecked")
+    public InMemoryStockLedger(InventoryJournalRepository inventoryJournalRepository,
+                               TransactionTemplate transactionTemplate,
+                               @Value("${inventory.ledger.shards:12}") int shardCount,
+                               @Value("${saga.kafka.order-created-key:order-id}") String orderCreatedKey) {
+        if (!"product-id".equals(orderCreatedKey)) {
+            throw new IllegalStateException("inventory.reservation.strategy=memory는 "
+                    + "saga.kafka.order-created-key=product-id 일 때만 사용할 수 있습니다. 현재: " + orderCreatedKey);
+        }
+        this.inventoryJournalRepository = inventoryJournalRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.shards = new ConcurrentHashMap[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    @PostConstruct
+    public void load() {
+        for (StockSnapshot snapshot : inventoryJournalRepository.findAllStockSnapshots()) {
+            shardFor(snapshot.getProductId()).put(snapshot.getProductId(), new StockCell(snapshot));
+        }
+    }
+
+    @Override
+    public StockReservation reserve(Long productId, int quantity) {
+        StockCell cell = cellFor(productId);
+        if (cell == null) {
+            return StockReservation.productNotFound();
+        }
+
+        // 카운터를 바꾸기 전에 되돌리기를 등록해 둬야 journal 기록이 실패해도 카운터가 복구된다
+        Undo undo = undoOnRollback(cell);
+        long current;
+        do {
+            current = cell.available.get();
+            if (current < quantity) {
+                return StockReservation.outOfStock();
+            }
+        } while (!cell.available.compareAndSet(current, current - quantity));
+        undo.delta += quantity;
+
+        journal(productId, -quantity);
+        return StockReservation.reserved(cell.price);
+    }
+
+    @Override
+    public void release(Long productId, int quantity) {
+        StockCell cell = cellFor(productId);
+        if (cell == null) {
+            throw new EntityNotFoundException("상품이 존재하지 않습니다.");
+        }
+
+        Undo undo = undoOnRollback(cell);
+        cell.available.addAndGet(quantity);
+        undo.delta -= quantity;
+        journal(productId, quantity);
+    }
+
+    @Override
+    public Integer availableQuantity(Inventory inventory) {
+        StockCell cell = cellFor(inventory.getProductId());
+        return cell == null ? inventory.getQuantity() : Math.toIntExact(cell.available.get());
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.ledger.flush-interval-ms:1000}")
+    public void flush() {
+        Integer flushed = transactionTemplate.execute(status -> inventoryJournalRepository.flushToInventory());
+        if (flushed != null && flushed > 0) {
+            log.debug("재고 원장 변경분을 반영했습니다. products={}", flushed);
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        evict(consumer, partitions);
+    }
+
+    @Override
+    public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        evict(consumer, partitions);
+    }
+
+    /**
+     * order-created 파티션의 소유가 바뀌면 그 파티션에 속한 상품의 카운터를 버립니다.
+     * 다른 인스턴스가 그 사이 바꾼 재고가 있을 수 있으므로 다음 요청 때 DB에서 다시 읽습니다.
+     */
+    private void evict(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        Set<Integer> moved = partitions.stream()
+                .filter(partition -> ORDER_CREATED_TOPIC.equals(partition.topic()))
+                .map(TopicPartition::partition)
+                .collect(Collectors.toSet());
+        if (moved.isEmpty()) {
+            return;
+        }
+        int partitionCount = consumer.partitionsFor(ORDER_CREATED_TOPIC).size();
+        int evicted = 0;
+        for (ConcurrentHashMap<Long, StockCell> shard : shards) {
+            int before = shard.size();
+            shard.keySet().removeIf(productId -> moved.contains(hash(productId) % partitionCount));
+            evicted += before - shard.size();
+        }
+        log.info("order-created 파티션 {}의 소유가 바뀌어 재고 카운터 {}개를 다시 읽습니다.", moved, evicted);
+    }
+
+    private StockCell cellFor(Long productId) {
+        ConcurrentHashMap<Long, StockCell> shard = shardFor(productId);
+        StockCell cell = shard.get(productId);
+        if (cell != null) {
+            return cell;
+        }
+        // 기동 이후 추가된 상품은 처음 요청될 때 읽어온다
+        return inventoryJournalRepository.findStockSnapshot(productId)
+                .map(snapshot -> shard.computeIfAbsent(productId, id -> new StockCell(snapshot)))
+                .orElse(null);
+    }
+
+    private ConcurrentHashMap<Long, StockCell> shardFor(Long productId) {
+        return shards[hash(productId) % shards.length];
+    }
+
+    // order-created 키(productId 문자열)에 대한 Kafka 기본 파티셔너의 해시
+    private static int hash(Long productId) {
+        byte[] key = String.valueOf(productId).getBytes(StandardCharsets.UTF_8);
+        return Utils.toPositive(Utils.murmur2(key));
+    }
+
+    private void journal(Long productId, int delta) {
+        inventoryJournalRepository.save(InventoryJournal.builder()
+                .productId(productId)
+                .delta(delta)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    // journal이 커밋되지 않으면 메모리 카운터도 되돌린다 (카운터를 바꾼 만큼 undo.delta에 더해 둔다)
+    private Undo undoOnRollback(StockCell cell) {
+        Undo undo = new Undo(cell);
+        TransactionSynchronizationManager.registerSynchronization(undo);
+        return undo;
+    }
+
+    private static final class Undo implements TransactionSynchronization {
+        private final StockCell cell;
+        private long delta;
+
+        private Undo(StockCell cell) {
+            this.cell = cell;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status != STATUS_COMMITTED && delta != 0) {
+                cell.available.addAndGet(delta);
+            }
+        }
+    }
+
+    private static final class StockCell {
+        private final AtomicLong available;
+        private final Integer price;
+
+        private StockCell(StockSnapshot snapshot) {
+            this.available = new AtomicLong(snapshot.getAvailable());
+            this.price = snapshot.getPrice();
+        }
+    }
+}
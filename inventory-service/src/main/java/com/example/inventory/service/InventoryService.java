@@ -1,20 +1,46 @@
 package com.example.inventory.service;
 
 import com.example.inventory.domain.Inventory;
+import com.example.inventory.domain.InventoryReservation;
+import com.example.inventory.domain.ReservationStatus;
 import com.example.inventory.dto.InventoryResponseDto;
 import com.example.inventory.kafka.InventoryProducer;
+import com.example.inventory.metrics.SagaMetrics;
 import com.example.inventory.repository.InventoryRepository;
+import com.example.inventory.repository.InventoryReservationRepository;
+import com.example.saga.event.OrderCreatedEvent;
+import com.example.saga.event.idempotency.ProcessedEventStore;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class InventoryService {
+    // 조회 API 캐시 이름 (SagaCacheConfig)
+    public static final String INVENTORY_CACHE = "inventory";
+
     private final InventoryRepository inventoryRepository;
+    private final InventoryReservationRepository inventoryReservationRepository;
     private final InventoryProducer inventoryProducer;
+    private final StockReservationStrategy stockReservationStrategy;
+    private final HotProductAllotments hotProductAllotments;
+    private final ProcessedEventStore processedEventStore;
+    private final SagaMetrics sagaMetrics;
+    private final CacheManager cacheManager;
+
     /**
      * 주문에 대한 재고를 예약합니다.
      * TODO: 1. InventoryRepository.findById로 재고 확인
@@ -23,26 +49,95 @@ public class InventoryService {
      * TODO: 4. DB에 저장
      * TODO: 5. 성공 시 InventoryProducer.sendInventoryReservedEvent 호출
      * TODO: 6. 실패 시 InventoryProducer.sendOrderFailedEvent 호출
+     *
+     * 주문이 몰리는 상품은 파티션별 몫(HotProductAllotments)에서 차감하고, 나머지는 차감 전략을 사용합니다.
+     *
+     * @param partition order-created 파티션 (hot 상품의 스트라이프 선택에 사용, 없으면 null)
      */
     @Transactional
-    public void reserveInventory(Long orderId, Long productId, Long userId, Integer quantity) {
-        Optional<Inventory> optionalInventory =
-                inventoryRepository.findByProductIdWithLock(productId);
-
-        if (optionalInventory.isEmpty()) {
-            inventoryProducer.sendOrderFailedEvent(orderId, "상품이 존재하지 않습니다.");
+    public void reserveInventory(Long orderId, Long productId, Long userId, Integer quantity, String eventId,
+                                 Long sagaStartedAt, Integer partition) {
+        if (!processedEventStore.markProcessed(eventId)) {
             return;
         }
-
-        Inventory inventory = optionalInventory.get();
-        if (inventory.getQuantity() < quantity) {
-            inventoryProducer.sendOrderFailedEvent(orderId, "재고가 부족합니다.");
+        // 주문 생성 이벤트보다 실패 이벤트가 먼저 처리된 주문 (주문 서비스가 타임아웃으로 실패 처리한 경우 등)
+        if (inventoryReservationRepository.existsById(orderId)) {
             return;
         }
 
-        inventory.setQuantity(inventory.getQuantity() - quantity);
-        int amount = quantity * inventory.getPrice();  // 주문 수량 × 단가
-        inventoryProducer.sendInventoryReservedEvent(orderId, userId, amount);
+        StockReservation reservation = hotProductAllotments.tryReserve(productId, quantity, partition)
+                .orElseGet(() -> stockReservationStrategy.reserve(productId, quantity));
+        publishReservationResult(reservation, orderId, productId, userId, quantity, sagaStartedAt);
+    }
+
+    /**
+     * 한 번의 poll로 받은 주문들의 재고를 한 트랜잭션에서 예약합니다.
+     *
+     * 주문을 상품별로 묶어 상품마다 한 번만 차감 전략을 호출하고(비관적 락 전략에서는 행 잠금 1회),
+     * 같은 상품의 주문은 도착 순서대로 적용합니다. 재고를 초과하는 주문은 거절되며,
+     * 결과 이벤트는 도착 순서대로 outbox에 기록되어 OutboxRelay가 한 번에 전송합니다.
+     */
+    @Transactional
+    public void reserveInventoryBatch(List<OrderCreatedEvent> events) {
+        // 이미 처리된(재전달된) 이벤트는 제외한다
+        List<OrderCreatedEvent> claimedEvents = events.stream()
+                .filter(event -> processedEventStore.markProcessed(event.getEventId()))
+                .toList();
+        // 실패 이벤트가 먼저 처리되어 기록이 이미 있는 주문도 제외한다
+        Set<Long> settledOrderIds = inventoryReservationRepository.findAllById(
+                        claimedEvents.stream().map(OrderCreatedEvent::getOrderId).toList()).stream()
+                .map(InventoryReservation::getOrderId)
+                .collect(Collectors.toSet());
+        List<OrderCreatedEvent> newEvents = claimedEvents.stream()
+                .filter(event -> !settledOrderIds.contains(event.getOrderId()))
+                .toList();
+
+        // 데드락을 피하기 위해 productId 순서로 처리한다
+        Map<Long, List<OrderCreatedEvent>> eventsByProduct = newEvents.stream()
+                .filter(event -> event.getProductId() != null)
+                .collect(Collectors.groupingBy(OrderCreatedEvent::getProductId, TreeMap::new, Collectors.toList()));
+
+        Map<OrderCreatedEvent, StockReservation> reservations = new IdentityHashMap<>();
+        eventsByProduct.forEach((productId, productEvents) -> {
+            List<StockReservation> results = stockReservationStrategy.reserveAll(
+                    productId,
+                    productEvents.stream().map(OrderCreatedEvent::getQuantity).toList()
+            );
+            for (int i = 0; i < productEvents.size(); i++) {
+                reservations.put(productEvents.get(i), results.get(i));
+            }
+        });
+
+        for (OrderCreatedEvent event : newEvents) {
+            publishReservationResult(
+                    reservations.getOrDefault(event, StockReservation.productNotFound()),
+                    event.getOrderId(),
+                    event.getProductId(),
+                    event.getUserId(),
+                    event.getQuantity(),
+                    event.getSagaStartedAt()
+            );
+        }
+    }
+
+    private void publishReservationResult(StockReservation reservation, Long orderId, Long productId,
+                                          Long userId, Integer quantity, Long sagaStartedAt) {
+        switch (reservation.outcome()) {
+            case PRODUCT_NOT_FOUND -> inventoryProducer.sendOrderFailedEvent(orderId, "상품이 존재하지 않습니다.", sagaStartedAt);
+            case OUT_OF_STOCK -> inventoryProducer.sendOrderFailedEvent(orderId, "재고가 부족합니다.", sagaStartedAt);
+            case RESERVED -> {
+                inventoryReservationRepository.save(InventoryReservation.builder()
+                        .orderId(orderId)
+                        .productId(productId)
+                        .quantity(quantity)
+                        .status(ReservationStatus.RESERVED)
+                        .reservedAt(LocalDateTime.now())
+                        .build());
+                evictInventory(productId);
+                int amount = quantity * reservation.price();  // 주문 수량 × 단가
+                inventoryProducer.sendInventoryReservedEvent(orderId, userId, amount, sagaStartedAt);
+            }
+        }
     }
 
     /**
@@ -51,26 +146,61 @@ public class InventoryService {
      * TODO: 2. 재고 복구 (quantity += 주문수량)
      * TODO: 3. DB에 저장
      * TODO: 4. 로깅
+     *
+     * order-failed 이벤트에는 orderId만 있으면 되며, 차감 기록(inventory_reservation)으로 복구할 수량을 찾습니다.
+     * 재고 부족 등으로 차감 전에 거절된 주문이나 이미 복구된 주문은 기록이 없거나 RELEASED이므로 아무것도 하지 않습니다.
+     * 기록이 없으면 수량 0인 RELEASED 기록을 남겨, 늦게 도착한 주문 생성 이벤트가 재고를 차감하지 않게 합니다.
      */
     @Transactional
-    public void rollbackInventory(Long orderId, Long productId, Integer quantity) {
-        Inventory inventory = inventoryRepository.findByProductIdWithLock(productId)
-                .orElseThrow(() -> new RuntimeException("상품이 존재하지 않습니다."));
+    public void rollbackInventory(Long orderId, String eventId) {
+        if (!processedEventStore.markProcessed(eventId)) {
+            return;
+        }
+
+        InventoryReservation reservation = inventoryReservationRepository.findById(orderId).orElse(null);
+        if (reservation == null) {
+            inventoryReservationRepository.save(InventoryReservation.builder()
+                    .orderId(orderId)
+                    .quantity(0)
+                    .status(ReservationStatus.RELEASED)
+                    .reservedAt(LocalDateTime.now())
+                    .build());
+            return;
+        }
+        if (reservation.getStatus() != ReservationStatus.RESERVED) {
+            return;
+        }
 
-        inventory.setQuantity(inventory.getQuantity() + quantity);
+        stockReservationStrategy.release(reservation.getProductId(), reservation.getQuantity());
+        reservation.setStatus(ReservationStatus.RELEASED);
+        evictInventory(reservation.getProductId());
+        sagaMetrics.incrementCompensations();
+        log.info("재고를 복구했습니다. orderId={}, productId={}, quantity={}",
+                orderId, reservation.getProductId(), reservation.getQuantity());
     }
 
     /**
      * 재고 정보를 조회합니다.
      * TODO: 1. InventoryRepository.findById로 조회
      * TODO: 2. Inventory Entity → InventoryResponseDto 변환 후 반환
+     *
+     * 재고가 바뀌면(예약 / 복구) 트랜잭션 커밋 후 해당 상품의 캐시를 무효화합니다.
      */
+    @Cacheable(cacheNames = INVENTORY_CACHE, key = "#productId")
     public InventoryResponseDto getInventory(Long productId) {
         Inventory inventory = inventoryRepository.findById(productId)
                 .orElseThrow(() -> new RuntimeException("상품이 존재하지 않습니다."));
         return InventoryResponseDto.builder()
                 .productId(inventory.getProductId())
-                .quantity(inventory.getQuantity())
+                .quantity(stockReservationStrategy.availableQuantity(inventory)
+                        + hotProductAllotments.allottedQuantity(productId))
                 .build();
     }
+
+    /**
+     * 트랜잭션 인식 캐시이므로 커밋된 뒤에 무효화됩니다.
+     */
+    private void evictInventory(Long productId) {
+        cacheManager.getCache(INVENTORY_CACHE).evict(productId);
+    }
 }
@@ -0,0 +1,62 @@
+package com.example.inventory.service;
+
+import com.example.inventory.repository.InventoryRepository;
+import com.example.inventory.repository.InventoryRepository.StockVersion;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+/**
+ * 잠금 없이 읽고, 읽은 뒤 버전(@Version)이 바뀌지 않았을 때만 반영합니다 (inventory.reservation.strategy=optimistic).
+ *
+ * - 버전이 바뀌었으면 다시 읽어 max-attempts번까지 재시도 (트랜잭션을 롤백하지 않고 같은 트랜잭션 안에서)
+ * - 재시도를 모두 실패하면 OptimisticLockingFailureException (리스너 재시도 토픽으로 이동)
+ *
+ * 경합이 적을 때는 잠금 대기가 없지만, 한 상품에 주문이 몰리면 재시도가 늘어 비관적 락보다 느려질 수 있습니다.
+ */
+@Component
+@ConditionalOnProperty(name = "inventory.reservation.strategy", havingValue = "optimistic")
+public class OptimisticLockStockStrategy implements StockReservationStrategy {
+
+    private final InventoryRepository inventoryRepository;
+    private final int maxAttempts;
+
+    public OptimisticLockStockStrategy(InventoryRepository inventoryRepository,
+                                       @Value("${inventory.reservation.optimistic.max-attempts:10}") int maxAttempts) {
+        this.inventoryRepository = inventoryRepository;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    public StockReservation reserve(Long productId, int quantity) {
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            StockVersion stock = inventoryRepository.findStockVersion(productId).orElse(null);
+            if (stock == null) {
+                return StockReservation.productNotFound();
+            }
+            if (stock.getQuantity() < quantity) {
+                return StockReservation.outOfStock();
+            }
+            if (inventoryRepository.updateQuantityIfVersion(
+                    productId, stock.getQuantity() - quantity, stock.getVersion()) == 1) {
+                return StockReservation.reserved(stock.getPrice());
+            }
+        }
+        throw new OptimisticLockingFailureException("재고 차감 경합으로 재시도 횟수를 초과했습니다. productId=" + productId);
+    }
+
+    @Override
+    public void release(Long productId, int quantity) {
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            StockVersion stock = inventoryRepository.findStockVersion(productId)
+                    .orElseThrow(() -> new EntityNotFoundException("상품이 존재하지 않습니다."));
+            if (inventoryRepository.updateQuantityIfVersion(
+                    productId, stock.getQuantity() + quantity, stock.getVersion()) == 1) {
+                return;
+            }
+        }
+        throw new OptimisticLockingFailureException("재고 복구 경합으로 재시도 횟수를 초과했습니다. productId=" + productId);
+    }
+}
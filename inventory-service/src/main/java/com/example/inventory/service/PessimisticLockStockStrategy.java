@@ -0,0 +1,61 @@
+package com.example.inventory.service;
+
+import com.example.inventory.domain.Inventory;
+import com.example.inventory.repository.InventoryRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 상품 행을 PESSIMISTIC_WRITE로 잠그고 재고를 차감합니다 (기본 전략).
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.reservation.strategy", havingValue = "pessimistic", matchIfMissing = true)
+public class PessimisticLockStockStrategy implements StockReservationStrategy {
+
+    private final InventoryRepository inventoryRepository;
+
+    @Override
+    public StockReservation reserve(Long productId, int quantity) {
+        return reserveAll(productId, List.of(quantity)).get(0);
+    }
+
+    /**
+     * 상품 행을 한 번만 잠그고 모든 예약을 순서대로 적용합니다.
+     */
+    @Override
+    public List<StockReservation> reserveAll(Long productId, List<Integer> quantities) {
+        Optional<Inventory> optionalInventory = inventoryRepository.findByProductIdWithLock(productId);
+        if (optionalInventory.isEmpty()) {
+            return quantities.stream()
+                    .map(quantity -> StockReservation.productNotFound())
+                    .toList();
+        }
+
+        Inventory inventory = optionalInventory.get();
+        List<StockReservation> reservations = new ArrayList<>(quantities.size());
+        for (Integer quantity : quantities) {
+            if (inventory.getQuantity() < quantity) {
+                reservations.add(StockReservation.outOfStock());
+                continue;
+            }
+            inventory.setQuantity(inventory.getQuantity() - quantity);
+            reservations.add(StockReservation.reserved(inventory.getPrice()));
+        }
+        return reservations;
+    }
+
+    @Override
+    public void release(Long productId, int quantity) {
+        Inventory inventory = inventoryRepository.findByProductIdWithLock(productId)
+                .orElseThrow(() -> new EntityNotFoundException("상품이 존재하지 않습니다."));
+
+        inventory.setQuantity(inventory.getQuantity() + quantity);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.inventory.service;
+
+/**
+ * 재고 차감 시도의 결과입니다. 예약에 성공한 경우 단가를 함께 돌려줍니다.
+ */
+public record StockReservation(Outcome outcome, Integer price) {
+
+    public enum Outcome {
+        RESERVED,           // 재고 차감 완료
+        OUT_OF_STOCK,       // 재고 부족
+        PRODUCT_NOT_FOUND   // 상품 없음
+    }
+
+    public static StockReservation reserved(Integer price) {
+        return new StockReservation(Outcome.RESERVED, price);
+    }
+
+    public static StockReservation outOfStock() {
+        return new StockReservation(Outcome.OUT_OF_STOCK, null);
+    }
+
+    public static StockReservation productNotFound() {
+        return new StockReservation(Outcome.PRODUCT_NOT_FOUND, null);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.inventory.service;
+
+import com.example.inventory.domain.Inventory;
+
+import java.util.List;
+
+/**
+ * 재고 차감/복구 방식을 정의합니다.
+ * inventory.reservation.strategy 설정으로 구현체를 선택하며, 모든 메서드는
+ * 호출한 트랜잭션 안에서 실행됩니다.
+ */
+public interface StockReservationStrategy {
+
+    StockReservation reserve(Long productId, int quantity);
+
+    /**
+     * 같은 상품에 대한 여러 예약을 주어진 순서대로 처리합니다.
+     */
+    default List<StockReservation> reserveAll(Long productId, List<Integer> quantities) {
+        return quantities.stream()
+                .map(quantity -> reserve(productId, quantity))
+                .toList();
+    }
+
+    void release(Long productId, int quantity);
+
+    /**
+     * 조회 API에 노출할 현재 재고 수량입니다.
+     */
+    default Integer availableQuantity(Inventory inventory) {
+        return inventory.getQuantity();
+    }
+}
@@ -1,9 +1,14 @@
 package com.example.order;
 
+import com.example.saga.event.SagaCommonConfig;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
+@Import(SagaCommonConfig.class)
 public class OrderApplication {
 
     public static void main(String[] args) {
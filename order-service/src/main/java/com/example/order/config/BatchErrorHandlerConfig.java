@@ -0,0 +1,51 @@
+package com.example.order.config;
+
+import com.example.saga.event.kafka.SagaRetryTopics;
+import jakarta.persistence.EntityNotFoundException;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ContainerCustomizer;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.ExponentialBackOffWithMaxRetries;
+
+/**
+ * 상태 변경 배치 리스너(order.consumer.batch-mode=true)의 에러 핸들러입니다.
+ *
+ * 재시도 토픽은 배치 리스너를 지원하지 않으므로, 리스너가 BatchListenerFailedException으로 알려 준 레코드를
+ * @SagaRetryableTopic과 같은 규칙으로 처리합니다.
+ * - 앞의 레코드는 커밋하고, 실패한 레코드부터 다시 읽어 1s → 4s → 16s 간격으로 재시도 (saga.retry.attempts, 최초 시도 포함)
+ * - 주문 없음, 잘못된 값은 재시도하지 않음
+ * - 모두 실패하면 단일 레코드 리스너와 같은 DLT(<토픽>-<서비스>-dlt)로 보냄
+ */
+@Configuration
+public class BatchErrorHandlerConfig {
+
+    public static final String STATUS_BATCH_LISTENER_ID = "order-status-batch";
+
+    @Bean
+    public ContainerCustomizer<Object, Object, ConcurrentMessageListenerContainer<Object, Object>> batchErrorHandlerCustomizer(
+            KafkaTemplate<String, Object> kafkaTemplate,
+            SagaRetryTopics sagaRetryTopics,
+            @Value("${saga.retry.attempts:4}") int attempts) {
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(kafkaTemplate,
+                (record, exception) -> new TopicPartition(sagaRetryTopics.dltTopic(record.topic()), -1));
+        ExponentialBackOffWithMaxRetries backOff = new ExponentialBackOffWithMaxRetries(attempts - 1);
+        backOff.setInitialInterval(SagaRetryTopics.FIRST_RETRY_DELAY_MS);
+        backOff.setMultiplier(4);
+        backOff.setMaxInterval(60000);
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, backOff);
+        errorHandler.addNotRetryableExceptions(EntityNotFoundException.class, IllegalArgumentException.class);
+
+        // 단일 레코드 리스너는 재시도 토픽 설정이 에러 핸들러를 정하므로 배치 리스너에만 적용한다
+        return container -> {
+            if (STATUS_BATCH_LISTENER_ID.equals(container.getListenerId())) {
+                container.setCommonErrorHandler(errorHandler);
+            }
+        };
+    }
+}
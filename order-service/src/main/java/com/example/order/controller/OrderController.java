@@ -2,10 +2,27 @@ package com.example.order.controller;
 
 import com.example.order.dto.OrderRequestDto;
 import com.example.order.dto.OrderResponseDto;
+import com.example.order.dto.OrderTimelineDto;
+import com.example.order.service.BulkOrderService;
+import com.example.order.service.OrderCompletionRegistry;
 import com.example.order.service.OrderService;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/orders")
@@ -13,6 +30,11 @@ import org.springframework.web.bind.annotation.*;
 public class OrderController {
 
     private final OrderService orderService;
+    private final BulkOrderService bulkOrderService;
+    private final OrderCompletionRegistry orderCompletionRegistry;
+
+    @Value("${order.completion.timeout-ms:30000}")
+    private long completionTimeoutMs;
 
     /**
      * 새로운 주문을 생성합니다.
@@ -25,6 +47,21 @@ public class OrderController {
         return ResponseEntity.ok(orderService.createOrder(request));
     }
 
+    /**
+     * 여러 주문을 한 번에 생성합니다. 본문은 JSON 배열 또는 NDJSON(한 줄에 주문 하나)입니다.
+     * 항목별 결과({"index", "orderId", "status"} 또는 {"index", "error"})를 저장되는 대로 NDJSON으로 응답합니다.
+     */
+    @PostMapping(value = "/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> createOrders(HttpServletRequest request) throws IOException {
+        InputStream body = request.getInputStream();
+        StreamingResponseBody results = out -> bulkOrderService.createOrders(body, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(results);
+    }
+
     /**
      * 주문 정보를 조회합니다.
      * TODO: 주문 조회 로직 구현
@@ -33,4 +70,85 @@ public class OrderController {
     public ResponseEntity<OrderResponseDto> getOrder(@PathVariable Long orderId) {
         return ResponseEntity.ok(orderService.getOrder(orderId));
     }
+
+    /**
+     * 주문 상태가 바뀐 과정을 시간 순으로 조회합니다 (운영 디버깅용).
+     * 항목마다 이전 상태, 바뀐 상태, 바꾼 주체(이벤트 토픽 / order-api / sweeper), 이벤트 ID, 시각을 담습니다.
+     */
+    @GetMapping("/{orderId}/timeline")
+    public ResponseEntity<List<OrderTimelineDto>> getTimeline(@PathVariable Long orderId) {
+        try {
+            return ResponseEntity.ok(orderService.getTimeline(orderId));
+        } catch (EntityNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    /**
+     * 주문이 최종 상태(COMPLETED / FAILED)가 될 때까지 기다렸다가 응답합니다 (long-poll).
+     *
+     * 대기자를 먼저 등록한 뒤 현재 상태를 한 번 조회하므로, 조회와 완료 사이의 알림을 놓치지 않습니다.
+     * 타임아웃되면 현재 상태를 202 Accepted로 반환하며, 클라이언트는 같은 요청을 다시 보내면 됩니다.
+     */
+    @GetMapping("/{orderId}/completion")
+    public DeferredResult<ResponseEntity<OrderResponseDto>> awaitCompletion(@PathVariable Long orderId) {
+        DeferredResult<ResponseEntity<OrderResponseDto>> result = new DeferredResult<>(completionTimeoutMs);
+        Consumer<OrderResponseDto> waiter = order -> result.setResult(ResponseEntity.ok(order));
+        register(orderId, waiter);
+
+        result.onCompletion(() -> orderCompletionRegistry.remove(orderId, waiter));
+        result.onTimeout(() -> result.setResult(ResponseEntity.accepted().body(orderService.getOrder(orderId))));
+
+        OrderResponseDto current = currentOrder(orderId, waiter);
+        if (current.getStatus() != null && current.getStatus().isTerminal()) {
+            result.setResult(ResponseEntity.ok(current));
+        }
+        return result;
+    }
+
+    /**
+     * 주문 상태를 SSE로 전달합니다.
+     * 현재 상태를 먼저 보내고, 최종 상태가 되면 한 번 더 보낸 뒤 스트림을 닫습니다.
+     */
+    @GetMapping(value = "/{orderId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamStatus(@PathVariable Long orderId) {
+        SseEmitter emitter = new SseEmitter(completionTimeoutMs);
+        Consumer<OrderResponseDto> waiter = order -> sendStatus(emitter, order, true);
+        register(orderId, waiter);
+
+        emitter.onCompletion(() -> orderCompletionRegistry.remove(orderId, waiter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> orderCompletionRegistry.remove(orderId, waiter));
+
+        OrderResponseDto current = currentOrder(orderId, waiter);
+        sendStatus(emitter, current, current.getStatus() != null && current.getStatus().isTerminal());
+        return emitter;
+    }
+
+    private void register(Long orderId, Consumer<OrderResponseDto> waiter) {
+        if (!orderCompletionRegistry.register(orderId, waiter)) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "대기 중인 요청이 너무 많습니다.");
+        }
+    }
+
+    private OrderResponseDto currentOrder(Long orderId, Consumer<OrderResponseDto> waiter) {
+        try {
+            return orderService.getOrder(orderId);
+        } catch (RuntimeException e) {
+            orderCompletionRegistry.remove(orderId, waiter);
+            throw e;
+        }
+    }
+
+    private void sendStatus(SseEmitter emitter, OrderResponseDto order, boolean last) {
+        try {
+            emitter.send(SseEmitter.event().name("status").data(order));
+            if (last) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 클라이언트가 이미 연결을 끊었거나 스트림이 닫힌 경우
+            emitter.completeWithError(e);
+        }
+    }
 }
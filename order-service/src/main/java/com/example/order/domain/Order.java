@@ -6,16 +6,20 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = @Index(name = "idx_orders_status_updated_at", columnList = "status, updated_at"))
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Order {
 
+    // IDENTITY는 INSERT마다 키를 받아와야 해서 JDBC 배치가 꺼지므로, 시퀀스를 50개씩 미리 할당받는다
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long orderId;
 
     private Long productId;
@@ -24,4 +28,13 @@ public class Order {
 
     @Enumerated(EnumType.STRING)
     private OrderStatus status;
+
+    // 마지막 상태 변경 시각. StaleOrderSweeper가 (status, updated_at) 인덱스로 멈춘 주문을 찾는다
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
 }
@@ -1,9 +1,41 @@
 package com.example.order.domain;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum OrderStatus {
     CREATED,           // 주문 생성
     INVENTORY_RESERVED, // 재고 예약 완료
     PAYMENT_COMPLETED, // 결제 완료
     COMPLETED,         // 주문 완료
-    FAILED             // 주문 실패
+    FAILED;            // 주문 실패
+
+    /**
+     * 사가가 끝나 더 이상 상태가 바뀌지 않는지 여부
+     */
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED;
+    }
+
+    /**
+     * 사가 상태 전이 규칙: 종료되지 않은 상태에서 선언 순서상 뒤의 상태로만 바뀝니다.
+     * 같은 상태(중복 이벤트), 앞의 상태(늦게 도착한 이벤트), 종료 상태에서의 변경은 허용하지 않습니다.
+     * 상태가 앞으로만 가므로, 과거의 상태에서 허용되지 않는 전이는 이후의 상태에서도 허용되지 않습니다.
+     */
+    public boolean canTransitionTo(OrderStatus next) {
+        return !isTerminal() && next.ordinal() > ordinal();
+    }
+
+    /**
+     * 이 상태로 바뀔 수 있는 이전 상태들 (선언 순서상 앞에 있는 비종료 상태)
+     */
+    public Set<OrderStatus> precedingStatuses() {
+        Set<OrderStatus> preceding = EnumSet.noneOf(OrderStatus.class);
+        for (OrderStatus status : values()) {
+            if (status.ordinal() < ordinal() && !status.isTerminal()) {
+                preceding.add(status);
+            }
+        }
+        return preceding;
+    }
 }
@@ -0,0 +1,53 @@
+package com.example.order.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 상태가 바뀐 기록입니다. 추가만 하고 수정하지 않습니다 (GET /orders/{id}/timeline).
+ *
+ * 운영 DB에서는 init-db.sql로 occurred_at 기준 월별 파티션 테이블을 먼저 만들어 두고,
+ * 보관 기간이 지난 파티션은 OrderTimelinePartitions가 통째로 삭제합니다.
+ */
+@Entity
+@Table(name = "order_timeline", indexes = @Index(name = "idx_order_timeline_order_id", columnList = "order_id, occurred_at"))
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderTimelineEntry {
+
+    // 상태 변경마다 INSERT하므로 orders와 같이 시퀀스를 50개씩 미리 할당받아 배치 INSERT한다
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_timeline_seq")
+    @SequenceGenerator(name = "order_timeline_seq", sequenceName = "order_timeline_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    // 주문 생성 기록은 null
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20)
+    private OrderStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 20, nullable = false)
+    private OrderStatus toStatus;
+
+    // 상태를 바꾼 주체: 이벤트 토픽 이름, order-api, sweeper
+    @Column(length = 32, nullable = false)
+    private String source;
+
+    // 상태를 바꾼 이벤트의 ID (API / 스위퍼는 null)
+    @Column(length = 64)
+    private String eventId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,41 @@
+package com.example.order.domain;
+
+import com.example.saga.event.outbox.OutboxRecord;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 엔티티 변경과 같은 트랜잭션에서 기록되는 발행 대기 이벤트입니다.
+ * OutboxRelay가 주기적으로 읽어 Kafka로 전송한 뒤 삭제합니다.
+ */
+@Entity
+@Table(name = "outbox_event")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent implements OutboxRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String topic;
+    private String messageKey;
+    private String eventType;
+
+    // SagaEventCodec으로 인코딩된 이벤트. 릴레이가 다시 변환하지 않고 그대로 전송한다
+    @Column(columnDefinition = "bytea")
+    private byte[] body;
+
+    // 바이너리 포맷 도입 전에 기록된 JSON (마이그레이션 중 남아 있는 행에만 존재)
+    @Column(columnDefinition = "text")
+    private String payload;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,25 @@
+package com.example.order.dto;
+
+import com.example.order.domain.OrderStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 일괄 주문 요청의 항목별 결과입니다. index는 요청 본문에서의 순서(0부터)입니다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkOrderResultDto {
+
+    private Integer index;
+    private Long orderId;
+    private OrderStatus status;
+    private String error;
+
+}
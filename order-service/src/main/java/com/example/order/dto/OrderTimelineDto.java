@@ -0,0 +1,23 @@
+package com.example.order.dto;
+
+import com.example.order.domain.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderTimelineDto {
+
+    private OrderStatus fromStatus;
+    private OrderStatus toStatus;
+    private String source;
+    private String eventId;
+    private LocalDateTime occurredAt;
+
+}
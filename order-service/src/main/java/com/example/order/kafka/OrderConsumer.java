@@ -1,20 +1,42 @@
 package com.example.order.kafka;
 
-import com.example.order.dto.event.InventoryReservedEvent;
-import com.example.order.dto.event.OrderFailedEvent;
-import com.example.order.dto.event.PaymentCompletedEvent;
+import com.example.order.config.BatchErrorHandlerConfig;
+import com.example.order.domain.OrderStatus;
+import com.example.order.metrics.SagaMetrics;
+import com.example.order.service.OrderSagaCoordinator;
 import com.example.order.service.OrderService;
+import com.example.order.service.OrderStatusChange;
+import com.example.order.service.UnknownOrderException;
+import com.example.saga.event.InventoryReservedEvent;
+import com.example.saga.event.OrderFailedEvent;
+import com.example.saga.event.PaymentCompletedEvent;
+import com.example.saga.event.idempotency.ProcessedEventStore;
+import com.example.saga.event.kafka.SagaRetryableTopic;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class OrderConsumer {
 
     private final OrderService orderService;
+    private final OrderSagaCoordinator orderSagaCoordinator;
+    private final ProcessedEventStore processedEventStore;
+    private final SagaMetrics sagaMetrics;
 
     /**
      * inventory-reserved 토픽을 구독하여 재고 예약 완료 이벤트를 처리합니다.
@@ -22,10 +44,23 @@ public class OrderConsumer {
      * TODO: 2. 메시지 파싱
      * TODO: 3. OrderService.handleInventoryReserved() 호출
      */
-    @KafkaListener(topics = "inventory-reserved", groupId = "order-service-group")
+    @SagaRetryableTopic
+    @KafkaListener(topics = "inventory-reserved", groupId = "order-service-group",
+            concurrency = "${saga.kafka.listener.concurrency:1}",
+            autoStartup = "#{!${order.consumer.batch-mode:false}}")
     public void consumeInventoryReservedEvent(InventoryReservedEvent event) {
+        long start = System.nanoTime();
+        SagaMetrics.StageTimers timers = sagaMetrics.stage("inventory-reserved");
+        timers.recordQueueWait(event.getOccurredAt());
         Long orderId = event.getOrderId();
-        orderService.handleInventoryReserved(orderId);
+        if (processedEventStore.isKnownDuplicate(event.getEventId())
+                || orderSagaCoordinator.isStale(orderId, OrderStatus.INVENTORY_RESERVED)) {
+            return;
+        }
+        long dbStart = System.nanoTime();
+        orderService.handleInventoryReserved(orderId, event.getEventId());
+        timers.recordDb(dbStart);
+        timers.recordHandler(start);
     }
 
     /**
@@ -34,10 +69,26 @@ public class OrderConsumer {
      * TODO: 2. 메시지 파싱
      * TODO: 3. OrderService.handlePaymentCompleted() 호출
      */
-    @KafkaListener(topics = "payment-completed", groupId = "order-service-group")
+    @SagaRetryableTopic
+    @KafkaListener(topics = "payment-completed", groupId = "order-service-group",
+            concurrency = "${saga.kafka.listener.concurrency:1}",
+            autoStartup = "#{!${order.consumer.batch-mode:false}}")
     public void consumePaymentCompletedEvent(PaymentCompletedEvent event) {
+        long start = System.nanoTime();
+        SagaMetrics.StageTimers timers = sagaMetrics.stage("payment-completed");
+        timers.recordQueueWait(event.getOccurredAt());
         Long orderId = event.getOrderId();
-        orderService.handlePaymentCompleted(orderId);
+        if (processedEventStore.isKnownDuplicate(event.getEventId())
+                || orderSagaCoordinator.isStale(orderId, OrderStatus.COMPLETED)) {
+            return;
+        }
+        long dbStart = System.nanoTime();
+        boolean completed = orderService.handlePaymentCompleted(orderId, event.getEventId());
+        timers.recordDb(dbStart);
+        timers.recordHandler(start);
+        if (completed) {
+            sagaMetrics.recordSagaEnd(event.getSagaStartedAt(), true);
+        }
     }
 
     /**
@@ -46,8 +97,120 @@ public class OrderConsumer {
      * TODO: 2. OrderService.handleOrderFailed() 호출
      * TODO: 3. 실패 사유 로깅
      */
-    @KafkaListener(topics = "order-failed", groupId = "order-service-group")
+    @SagaRetryableTopic
+    @KafkaListener(topics = "order-failed", groupId = "order-service-group",
+            concurrency = "${saga.kafka.listener.concurrency:1}",
+            autoStartup = "#{!${order.consumer.batch-mode:false}}")
     public void consumeOrderFailedEvent(OrderFailedEvent event) {
-        orderService.handleOrderFailed(event.getOrderId());
+        long start = System.nanoTime();
+        SagaMetrics.StageTimers timers = sagaMetrics.stage("order-failed");
+        timers.recordQueueWait(event.getOccurredAt());
+        if (processedEventStore.isKnownDuplicate(event.getEventId())
+                || orderSagaCoordinator.isStale(event.getOrderId(), OrderStatus.FAILED)) {
+            return;
+        }
+        long dbStart = System.nanoTime();
+        boolean failed = orderService.handleOrderFailed(event.getOrderId(), event.getEventId());
+        timers.recordDb(dbStart);
+        timers.recordHandler(start);
+        if (failed) {
+            sagaMetrics.recordSagaEnd(event.getSagaStartedAt(), false);
+            sagaMetrics.incrementCompensations();
+        }
+    }
+
+    /**
+     * 재시도를 모두 실패했거나 재시도할 수 없는 메시지(주문 없음, 잘못된 데이터 등)가 DLT에 도착하면 기록합니다.
+     * 원인을 해결한 뒤 POST /admin/dlt/{topic}/replay로 이 서비스의 재시도 토픽에 다시 보낼 수 있습니다.
+     */
+    @DltHandler
+    public void handleDeadLetter(ConsumerRecord<String, Object> record) {
+        Header error = record.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_MESSAGE);
+        log.error("DLT로 이동한 메시지입니다. topic={}, key={}, error={}", record.topic(), record.key(),
+                error != null ? new String(error.value(), StandardCharsets.UTF_8) : null);
+        sagaMetrics.incrementDeadLetters(record.topic());
+    }
+
+    /**
+     * 세 토픽을 배치 단위로 함께 구독합니다 (order.consumer.batch-mode=true 일 때 사용).
+     * 한 번의 poll로 받은 상태 변경을 주문별로 검증 / 병합하여 한 트랜잭션의 벌크 UPDATE로 반영합니다.
+     * 주문 정보가 없는 이벤트가 있으면 그 앞까지만 반영하고 BatchListenerFailedException으로 그 레코드를 알려,
+     * 단일 레코드 리스너와 같은 재시도 / DLT 경로로 보냅니다 (BatchErrorHandlerConfig).
+     */
+    @KafkaListener(id = BatchErrorHandlerConfig.STATUS_BATCH_LISTENER_ID,
+            topics = {"inventory-reserved", "payment-completed", "order-failed"},
+            groupId = "order-service-group",
+            concurrency = "${saga.kafka.listener.concurrency:1}", batch = "true",
+            autoStartup = "${order.consumer.batch-mode:false}")
+    public void consumeStatusEvents(List<Object> events) {
+        long start = System.nanoTime();
+        SagaMetrics.StageTimers timers = sagaMetrics.stage("order-status-batch");
+
+        List<OrderStatusChange> changes = new ArrayList<>(events.size());
+        // changes의 각 변경이 나온 레코드의 배치 내 위치
+        List<Integer> recordIndexes = new ArrayList<>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            Object event = events.get(i);
+            OrderStatusChange change = switch (event) {
+                case InventoryReservedEvent e -> statusChange(timers, e.getOccurredAt(), e.getEventId(),
+                        new OrderStatusChange(e.getOrderId(), OrderStatus.INVENTORY_RESERVED, e.getEventId(), "inventory-reserved"));
+                case PaymentCompletedEvent e -> statusChange(timers, e.getOccurredAt(), e.getEventId(),
+                        new OrderStatusChange(e.getOrderId(), OrderStatus.COMPLETED, e.getEventId(), "payment-completed"));
+                case OrderFailedEvent e -> statusChange(timers, e.getOccurredAt(), e.getEventId(),
+                        new OrderStatusChange(e.getOrderId(), OrderStatus.FAILED, e.getEventId(), "order-failed"));
+                default -> {
+                    log.warn("알 수 없는 이벤트를 건너뜁니다. type={}", event.getClass().getName());
+                    yield null;
+                }
+            };
+            if (change != null) {
+                changes.add(change);
+                recordIndexes.add(i);
+            }
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        long dbStart = System.nanoTime();
+        UnknownOrderException unknownOrder = null;
+        int failedIndex = events.size();
+        Map<Long, OrderStatus> applied;
+        try {
+            applied = new HashMap<>(orderService.handleStatusChanges(changes));
+        } catch (UnknownOrderException e) {
+            // 배치 전체가 롤백되었으므로 첫 번째로 주문이 없는 레코드 앞까지만 다시 반영한다
+            // (에러 핸들러가 그 앞의 오프셋을 커밋하고, 그 레코드부터 다시 읽는다)
+            unknownOrder = e;
+            int failedChange = changes.indexOf(e.getFirstChange());
+            failedIndex = recordIndexes.get(failedChange);
+            applied = failedChange > 0
+                    ? new HashMap<>(orderService.handleStatusChanges(changes.subList(0, failedChange)))
+                    : new HashMap<>();
+        }
+        timers.recordDb(dbStart);
+        timers.recordHandler(start);
+
+        // 단일 레코드 리스너처럼 실제로 COMPLETED / FAILED로 바꾼 주문만 주문당 한 번 센다
+        for (Object event : events.subList(0, failedIndex)) {
+            if (event instanceof PaymentCompletedEvent e && applied.remove(e.getOrderId(), OrderStatus.COMPLETED)) {
+                sagaMetrics.recordSagaEnd(e.getSagaStartedAt(), true);
+            } else if (event instanceof OrderFailedEvent e && applied.remove(e.getOrderId(), OrderStatus.FAILED)) {
+                sagaMetrics.recordSagaEnd(e.getSagaStartedAt(), false);
+                sagaMetrics.incrementCompensations();
+            }
+        }
+        if (unknownOrder != null) {
+            throw new BatchListenerFailedException(unknownOrder.getMessage(), unknownOrder, failedIndex);
+        }
+    }
+
+    private OrderStatusChange statusChange(SagaMetrics.StageTimers timers, Long occurredAt, String eventId,
+                                           OrderStatusChange change) {
+        timers.recordQueueWait(occurredAt);
+        if (processedEventStore.isKnownDuplicate(eventId) || orderSagaCoordinator.isStale(change.orderId(), change.status())) {
+            return null;
+        }
+        return change;
     }
 }
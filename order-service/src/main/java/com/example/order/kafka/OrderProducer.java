@@ -1,18 +1,38 @@
 package com.example.order.kafka;
 
 import com.example.order.domain.Order;
-import com.example.order.dto.event.OrderCreatedEvent;
+import com.example.order.domain.OutboxEvent;
+import com.example.order.repository.OutboxEventRepository;
+import com.example.saga.event.OrderCreatedEvent;
+import com.example.saga.event.OrderFailedEvent;
+import com.example.saga.event.codec.SagaEventCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 이벤트를 outbox_event 테이블에 기록합니다.
+ * 호출한 트랜잭션과 함께 커밋되며, 실제 Kafka 전송은 OutboxRelay가 담당합니다.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class OrderProducer {
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${saga.kafka.order-created-key:order-id}")
+    private String orderCreatedKey;
 
     /**
      * order-created 토픽에 주문 생성 이벤트를 발행합니다.
@@ -20,15 +40,72 @@ public class OrderProducer {
      * TODO: 2. 로깅 추가
      * TODO: 3. 에러 핸들링
      */
+    @Transactional(propagation = Propagation.MANDATORY)
     public void sendOrderCreatedEvent(Order order) {
         // Topic name: "order-created"
-        OrderCreatedEvent event = OrderCreatedEvent.builder()
+        saveOutboxEvent("order-created", orderCreatedKey(order), orderCreatedEvent(order));
+    }
+
+    /**
+     * 여러 주문의 order-created 이벤트를 JDBC 배치 INSERT 한 번으로 outbox에 기록합니다.
+     * outbox_event의 ID는 DB가 채우고 돌려받을 필요가 없으므로 배치로 보낼 수 있습니다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void sendOrderCreatedEvents(List<Order> orders) {
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO outbox_event (topic, message_key, event_type, body, created_at) VALUES (?, ?, ?, ?, ?)",
+                orders, orders.size(), (ps, order) -> {
+                    ps.setString(1, "order-created");
+                    ps.setString(2, String.valueOf(orderCreatedKey(order)));
+                    ps.setString(3, OrderCreatedEvent.class.getName());
+                    ps.setBytes(4, SagaEventCodec.encode(orderCreatedEvent(order)));
+                    ps.setTimestamp(5, createdAt);
+                });
+    }
+
+    /**
+     * order-failed 토픽에 주문 실패 이벤트를 발행합니다.
+     * 처리가 멈춘 주문을 StaleOrderSweeper가 실패 처리할 때 재고 복구(보상 트랜잭션)를 요청합니다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void sendOrderFailedEvent(Long orderId, String reason) {
+        OrderFailedEvent event = OrderFailedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .occurredAt(System.currentTimeMillis())
+                .orderId(orderId)
+                .reason(reason)
+                .build();
+        saveOutboxEvent("order-failed", orderId, event);
+    }
+
+    private OrderCreatedEvent orderCreatedEvent(Order order) {
+        // 사가의 시작 시각으로 이후 모든 이벤트에 전달되어 종단 지연 측정에 사용된다
+        long now = System.currentTimeMillis();
+        return OrderCreatedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .sagaStartedAt(now)
+                .occurredAt(now)
                 .orderId(order.getOrderId())
                 .productId(order.getProductId())
                 .userId(order.getUserId())
                 .quantity(order.getQuantity())
                 .build();
+    }
+
+    private Long orderCreatedKey(Order order) {
+        // 같은 주문의 이벤트는 항상 같은 파티션으로 가도록 키를 지정한다.
+        // product-id로 설정하면 재고 서비스의 샤드(파티션)와 상품이 일치한다.
+        return "product-id".equals(orderCreatedKey) ? order.getProductId() : order.getOrderId();
+    }
 
-        kafkaTemplate.send("order-created", event);
+    private void saveOutboxEvent(String topic, Long key, Object event) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .topic(topic)
+                .messageKey(String.valueOf(key))
+                .eventType(event.getClass().getName())
+                .body(SagaEventCodec.encode(event))
+                .createdAt(LocalDateTime.now())
+                .build());
     }
 }
@@ -0,0 +1,74 @@
+package com.example.order.metrics;
+
+import com.example.saga.event.metrics.AbstractSagaMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 이 서비스의 사가 지표입니다. 단계별 지연, outbox, 전송, DLT 지표는 AbstractSagaMetrics에 있습니다.
+ *
+ * saga.transition.rejected{where}: 상태 전이 규칙에 맞지 않아 버린 이벤트 수 (memory: 트랜잭션 전, db: 주문 조회 후)
+ */
+@Component
+public class SagaMetrics extends AbstractSagaMetrics {
+
+    private final Timer sagaCompleted;
+    private final Timer sagaFailed;
+    private final Counter compensations;
+    private final Counter sweptOrders;
+    private final Counter transitionsRejectedInMemory;
+    private final Counter transitionsRejectedInDb;
+
+    public SagaMetrics(MeterRegistry meterRegistry) {
+        super(meterRegistry);
+        this.sagaCompleted = sagaTimer("completed");
+        this.sagaFailed = sagaTimer("failed");
+        this.compensations = Counter.builder("saga.compensations").register(meterRegistry);
+        this.sweptOrders = Counter.builder("saga.sweeper.recovered").tag("action", "compensated").register(meterRegistry);
+        this.transitionsRejectedInMemory = Counter.builder("saga.transition.rejected").tag("where", "memory").register(meterRegistry);
+        this.transitionsRejectedInDb = Counter.builder("saga.transition.rejected").tag("where", "db").register(meterRegistry);
+    }
+
+    /**
+     * 주문 생성(sagaStartedAt)부터 최종 상태까지의 종단 지연을 기록합니다.
+     */
+    public void recordSagaEnd(Long sagaStartedAt, boolean completed) {
+        if (sagaStartedAt == null) {
+            return;
+        }
+        (completed ? sagaCompleted : sagaFailed)
+                .record(Math.max(0, System.currentTimeMillis() - sagaStartedAt), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 보상 트랜잭션(주문 실패) 발생 횟수입니다. 주문 생성 수 대비 비율로 보상률을 구합니다.
+     */
+    public void incrementCompensations() {
+        compensations.increment();
+    }
+
+    /**
+     * 처리가 멈춰 스위퍼가 실패 처리(보상 요청)한 주문 수입니다.
+     */
+    public void incrementSweptOrders(int count) {
+        sweptOrders.increment(count);
+    }
+
+    /**
+     * 중복이거나 늦게 도착해 상태 전이 규칙에 맞지 않아 버린 이벤트 수입니다. where=memory는 DB를 거치지 않고 버린 수입니다.
+     */
+    public void incrementRejectedTransitions(String where) {
+        ("memory".equals(where) ? transitionsRejectedInMemory : transitionsRejectedInDb).increment();
+    }
+
+    private Timer sagaTimer(String outcome) {
+        return Timer.builder("saga.end-to-end")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
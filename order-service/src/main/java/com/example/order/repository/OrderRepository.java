@@ -1,11 +1,64 @@
 package com.example.order.repository;
 
 import com.example.order.domain.Order;
+import com.example.order.domain.OrderStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
     // TODO: 필요한 커스텀 쿼리 메서드 추가 가능
     // 예: List<Order> findByUserId(Long userId);
+
+    /**
+     * 여러 주문의 상태를 한 번에 변경합니다.
+     * 현재 상태가 from에 포함된(또는 아직 없는) 주문만 바뀌므로, 늦게 도착한 이벤트가 상태를 되돌리지 않습니다.
+     * 영속성 컨텍스트를 비우기 전에 먼저 flush하여, 같은 트랜잭션에서 저장한 타임라인 기록을 잃지 않습니다.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :status, o.updatedAt = :updatedAt " +
+            "WHERE o.orderId IN :orderIds AND (o.status IS NULL OR o.status IN :from)")
+    int updateStatus(@Param("orderIds") Collection<Long> orderIds,
+                     @Param("status") OrderStatus status,
+                     @Param("from") Collection<OrderStatus> from,
+                     @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * 상태 전이를 검증하고 바꾸는 동안 다른 이벤트가 같은 주문을 바꾸지 못하도록 잠가 읽습니다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.orderId = :orderId")
+    Optional<Order> findByIdForUpdate(@Param("orderId") Long orderId);
+
+    /**
+     * 배치 처리에서 상태 전이를 검증하기 위해 주문들의 현재 상태만 잠가 읽습니다 (엔티티를 만들지 않음).
+     * 교착을 피하려고 orderId 순서로 잠그며, 검증과 UPDATE 사이에 다른 트랜잭션이 상태를 바꾸지 못합니다.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o.orderId AS orderId, o.status AS status FROM Order o WHERE o.orderId IN :orderIds ORDER BY o.orderId")
+    List<OrderStatusView> findStatuses(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * cutoff 이전부터 CREATED / INVENTORY_RESERVED에 멈춰 있는 주문을 오래된 순으로 잠가 가져옵니다.
+     * (status, updated_at) 인덱스 범위만 읽으며, 다른 스위퍼 인스턴스가 잡은 행은 건너뜁니다.
+     */
+    @Query(value = "SELECT * FROM orders WHERE status IN ('CREATED', 'INVENTORY_RESERVED') AND updated_at < :cutoff " +
+            "ORDER BY updated_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Order> findStaleForUpdate(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    interface OrderStatusView {
+        Long getOrderId();
+
+        OrderStatus getStatus();
+    }
 }
@@ -0,0 +1,14 @@
+package com.example.order.repository;
+
+import com.example.order.domain.OrderTimelineEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OrderTimelineRepository extends JpaRepository<OrderTimelineEntry, Long> {
+
+    // (order_id, occurred_at) 인덱스로 파티션마다 해당 주문의 행만 읽는다
+    List<OrderTimelineEntry> findByOrderIdOrderByOccurredAtAscIdAsc(Long orderId);
+}
@@ -0,0 +1,126 @@
+package com.example.order.service;
+
+import com.example.order.domain.Order;
+import com.example.order.domain.OrderStatus;
+import com.example.order.dto.BulkOrderResultDto;
+import com.example.order.dto.OrderRequestDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 일괄 주문 요청(JSON 배열 또는 NDJSON)을 읽으면서 청크 단위로 저장하고, 항목별 결과를 NDJSON으로 흘려보냅니다.
+ *
+ * - 요청 전체를 메모리에 올리지 않고 order.bulk.chunk-size 건씩 읽어 한 트랜잭션으로 저장
+ * - 검증에 실패한 항목은 저장하지 않고 오류 결과만 기록
+ * - 청크가 커밋될 때마다 결과를 응답에 쓰고 flush (order-created 전송은 OutboxRelay가 배치로 처리)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkOrderService {
+
+    private static final byte[] NEW_LINE = {'\n'};
+
+    private final OrderService orderService;
+    private final JsonMapper jsonMapper;
+
+    @Value("${order.bulk.chunk-size:500}")
+    private int chunkSize;
+
+    public void createOrders(InputStream body, OutputStream out) throws IOException {
+        List<Item> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        try (MappingIterator<OrderRequestDto> requests = jsonMapper.readerFor(OrderRequestDto.class).readValues(body)) {
+            while (requests.hasNextValue()) {
+                chunk.add(new Item(index++, requests.nextValue()));
+                if (chunk.size() == chunkSize) {
+                    flushChunk(chunk, out);
+                    chunk.clear();
+                }
+            }
+        } catch (JacksonException e) {
+            // 잘못된 항목 이후는 읽을 수 없으므로, 읽은 항목까지 처리하고 오류를 알린다
+            flushChunk(chunk, out);
+            chunk.clear();
+            write(out, BulkOrderResultDto.builder().index(index).error("요청 형식이 올바르지 않습니다.").build());
+        }
+        flushChunk(chunk, out);
+    }
+
+    private void flushChunk(List<Item> chunk, OutputStream out) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        List<OrderRequestDto> valid = new ArrayList<>(chunk.size());
+        for (Item item : chunk) {
+            item.error = validate(item.request);
+            if (item.error == null) {
+                valid.add(item.request);
+            }
+        }
+
+        List<Order> orders = List.of();
+        String chunkError = null;
+        if (!valid.isEmpty()) {
+            try {
+                orders = orderService.createOrders(valid);
+            } catch (RuntimeException e) {
+                log.error("일괄 주문 저장에 실패했습니다. size={}", valid.size(), e);
+                chunkError = "주문 저장에 실패했습니다.";
+            }
+        }
+
+        int saved = 0;
+        for (Item item : chunk) {
+            BulkOrderResultDto.BulkOrderResultDtoBuilder result = BulkOrderResultDto.builder().index(item.index);
+            if (item.error != null) {
+                result.error(item.error);
+            } else if (chunkError != null) {
+                result.error(chunkError);
+            } else {
+                Order order = orders.get(saved++);
+                result.orderId(order.getOrderId()).status(OrderStatus.CREATED);
+            }
+            write(out, result.build());
+        }
+        out.flush();
+    }
+
+    private String validate(OrderRequestDto request) {
+        if (request == null || request.getProductId() == null || request.getUserId() == null) {
+            return "productId와 userId는 필수입니다.";
+        }
+        if (request.getQuantity() == null || request.getQuantity() <= 0) {
+            return "quantity는 1 이상이어야 합니다.";
+        }
+        return null;
+    }
+
+    private void write(OutputStream out, BulkOrderResultDto result) throws IOException {
+        out.write(jsonMapper.writeValueAsBytes(result));
+        out.write(NEW_LINE);
+    }
+
+    private static final class Item {
+        private final int index;
+        private final OrderRequestDto request;
+        private String error;
+
+        private Item(int index, OrderRequestDto request) {
+            this.index = index;
+            this.request = request;
+        }
+    }
+}
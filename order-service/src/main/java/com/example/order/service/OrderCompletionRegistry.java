@@ -0,0 +1,82 @@
+package com.example.order.service;
+
+import com.example.order.dto.OrderResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 주문의 최종 상태(COMPLETED / FAILED)를 기다리는 요청(long-poll, SSE)을 메모리에 보관합니다.
+ *
+ * - OrderService가 최종 상태를 커밋한 직후 complete()로 대기자에게 결과를 전달
+ * - 대기자 수는 order.completion.max-waiters로 제한 (초과 시 등록 거절)
+ * - 이벤트를 소비한 인스턴스의 대기자만 깨어나므로, 다른 인스턴스의 대기자는 타임아웃 시 DB에서 한 번 조회
+ */
+@Component
+public class OrderCompletionRegistry {
+
+    private final Map<Long, Queue<Consumer<OrderResponseDto>>> waiters = new ConcurrentHashMap<>();
+    private final AtomicInteger waiterCount = new AtomicInteger();
+    private final int maxWaiters;
+
+    public OrderCompletionRegistry(@Value("${order.completion.max-waiters:10000}") int maxWaiters) {
+        this.maxWaiters = maxWaiters;
+    }
+
+    /**
+     * 대기자를 등록합니다. 최대 대기자 수를 넘으면 false를 반환합니다.
+     */
+    public boolean register(Long orderId, Consumer<OrderResponseDto> waiter) {
+        if (waiterCount.incrementAndGet() > maxWaiters) {
+            waiterCount.decrementAndGet();
+            return false;
+        }
+        waiters.compute(orderId, (id, queue) -> {
+            Queue<Consumer<OrderResponseDto>> target = queue != null ? queue : new ConcurrentLinkedQueue<>();
+            target.add(waiter);
+            return target;
+        });
+        return true;
+    }
+
+    /**
+     * 타임아웃 / 연결 종료된 대기자를 제거합니다. 이미 완료된 대기자면 아무것도 하지 않습니다.
+     */
+    public void remove(Long orderId, Consumer<OrderResponseDto> waiter) {
+        waiters.computeIfPresent(orderId, (id, queue) -> {
+            if (queue.remove(waiter)) {
+                waiterCount.decrementAndGet();
+            }
+            return queue.isEmpty() ? null : queue;
+        });
+    }
+
+    /**
+     * 주문의 모든 대기자에게 최종 상태를 전달합니다.
+     */
+    public void complete(OrderResponseDto order) {
+        Queue<Consumer<OrderResponseDto>> queue = waiters.remove(order.getOrderId());
+        if (queue == null) {
+            return;
+        }
+        Consumer<OrderResponseDto> waiter;
+        while ((waiter = queue.poll()) != null) {
+            waiterCount.decrementAndGet();
+            waiter.accept(order);
+        }
+    }
+
+    public boolean hasWaiters(Long orderId) {
+        return waiters.containsKey(orderId);
+    }
+
+    public int waiterCount() {
+        return waiterCount.get();
+    }
+}
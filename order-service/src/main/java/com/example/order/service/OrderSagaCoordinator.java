@@ -0,0 +1,173 @@
+package com.example.order.service;
+
+import com.example.order.domain.Order;
+import com.example.order.domain.OrderStatus;
+import com.example.order.domain.OrderTimelineEntry;
+import com.example.order.metrics.SagaMetrics;
+import com.example.order.repository.OrderTimelineRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 주문 사가의 상태 전이를 검증하고, 바뀐 상태를 타임라인(order_timeline)에 기록합니다.
+ *
+ * - 전이 규칙은 OrderStatus.canTransitionTo (앞으로만 진행, 종료 상태는 바뀌지 않음)
+ * - 커밋된 마지막 상태를 메모리(LRU)에 보관하여, 늦게 도착했거나 중복된 이벤트는 트랜잭션을 열기 전에 버림
+ *   (상태가 앞으로만 가므로 메모리의 상태가 DB보다 뒤처져 있어도 적용 가능한 이벤트를 버리지는 않음)
+ * - 허용된 전이만 반영하고, 같은 트랜잭션에서 타임라인에 한 줄씩 추가
+ */
+@Slf4j
+@Component
+public class OrderSagaCoordinator {
+
+    private final OrderTimelineRepository orderTimelineRepository;
+    private final SagaMetrics sagaMetrics;
+    private final int cacheSize;
+    private final Map<Long, OrderStatus> lastStatuses;
+
+    public OrderSagaCoordinator(OrderTimelineRepository orderTimelineRepository,
+                                SagaMetrics sagaMetrics,
+                                @Value("${order.saga.status-cache-size:100000}") int cacheSize) {
+        this.orderTimelineRepository = orderTimelineRepository;
+        this.sagaMetrics = sagaMetrics;
+        this.cacheSize = cacheSize;
+        this.lastStatuses = new LinkedHashMap<>(cacheSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, OrderStatus> eldest) {
+                return size() > OrderSagaCoordinator.this.cacheSize;
+            }
+        };
+    }
+
+    /**
+     * 메모리에 있는 마지막 상태로 보아 적용할 수 없는 변경인지 확인합니다. DB를 조회하지 않습니다.
+     * 모르는 주문이면 false이며, 최종 판단은 transition()에서 DB의 상태로 합니다.
+     */
+    public boolean isStale(Long orderId, OrderStatus next) {
+        OrderStatus last;
+        synchronized (lastStatuses) {
+            last = lastStatuses.get(orderId);
+        }
+        if (last != null && !last.canTransitionTo(next)) {
+            sagaMetrics.incrementRejectedTransitions("memory");
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 새로 만든 주문들의 생성 기록을 타임라인에 추가합니다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void started(List<Order> orders, String source) {
+        LocalDateTime now = LocalDateTime.now();
+        orderTimelineRepository.saveAll(orders.stream()
+                .map(order -> entry(order.getOrderId(), null, order.getStatus(), source, null, now))
+                .toList());
+    }
+
+    /**
+     * 주문의 현재 상태에서 next로 바꿀 수 있으면 바꾸고 타임라인에 기록합니다.
+     * 허용되지 않는 변경(중복, 역행, 종료 후 도착)이면 아무것도 바꾸지 않고 false를 반환합니다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean transition(Order order, OrderStatus next, String source, String eventId) {
+        OrderStatus current = order.getStatus();
+        if (current != null && !current.canTransitionTo(next)) {
+            reject(order.getOrderId(), current, next, source);
+            return false;
+        }
+
+        order.setStatus(next);
+        orderTimelineRepository.save(entry(order.getOrderId(), current, next, source, eventId, LocalDateTime.now()));
+        rememberAfterCommit(Map.of(order.getOrderId(), next));
+        return true;
+    }
+
+    /**
+     * 여러 주문의 변경을 주문별 도착 순서대로 현재 상태에 적용해 보고, 허용된 단계마다 타임라인에 기록합니다.
+     * 상태가 실제로 바뀐 주문의 최종 상태를 반환하며, 엔티티 / 테이블의 반영은 호출 측(벌크 UPDATE)이 합니다.
+     * currentStatuses에 없는 주문(존재하지 않는 주문)이 있으면 아무것도 기록하지 않고 UnknownOrderException을 던집니다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Map<Long, OrderStatus> transitionAll(Map<Long, OrderStatus> currentStatuses, List<OrderStatusChange> changes) {
+        List<OrderStatusChange> missing = changes.stream()
+                .filter(change -> !currentStatuses.containsKey(change.orderId()))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new UnknownOrderException(
+                    missing.stream().map(OrderStatusChange::orderId).distinct().toList(), missing.getFirst());
+        }
+
+        Map<Long, OrderStatus> statuses = new HashMap<>(currentStatuses);
+        Map<Long, OrderStatus> changed = new HashMap<>();
+        List<OrderTimelineEntry> entries = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (OrderStatusChange change : changes) {
+            Long orderId = change.orderId();
+            OrderStatus current = statuses.get(orderId);
+            if (current != null && !current.canTransitionTo(change.status())) {
+                reject(orderId, current, change.status(), change.source());
+                continue;
+            }
+            statuses.put(orderId, change.status());
+            changed.put(orderId, change.status());
+            entries.add(entry(orderId, current, change.status(), change.source(), change.eventId(), now));
+        }
+
+        orderTimelineRepository.saveAll(entries);
+        rememberAfterCommit(changed);
+        return changed;
+    }
+
+    private void reject(Long orderId, OrderStatus current, OrderStatus next, String source) {
+        log.warn("허용되지 않는 상태 변경을 무시합니다. orderId={}, status={}, next={}, source={}",
+                orderId, current, next, source);
+        sagaMetrics.incrementRejectedTransitions("db");
+        // DB에서 읽은 상태이므로 다음에 같은 이벤트가 오면 트랜잭션 없이 버린다
+        remember(Map.of(orderId, current));
+    }
+
+    private void rememberAfterCommit(Map<Long, OrderStatus> statuses) {
+        if (statuses.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(statuses);
+            }
+        });
+    }
+
+    private void remember(Map<Long, OrderStatus> statuses) {
+        synchronized (lastStatuses) {
+            lastStatuses.putAll(statuses);
+        }
+    }
+
+    private static OrderTimelineEntry entry(Long orderId, OrderStatus from, OrderStatus to, String source,
+                                            String eventId, LocalDateTime occurredAt) {
+        return OrderTimelineEntry.builder()
+                .orderId(orderId)
+                .fromStatus(from)
+                .toStatus(to)
+                .source(source)
+                .eventId(eventId)
+                .occurredAt(occurredAt)
+                .build();
+    }
+}
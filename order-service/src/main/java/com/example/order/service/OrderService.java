@@ -2,19 +2,45 @@ package com.example.order.service;
 
 import com.example.order.domain.Order;
 import com.example.order.domain.OrderStatus;
+import com.example.order.domain.OrderTimelineEntry;
 import com.example.order.dto.OrderRequestDto;
 import com.example.order.dto.OrderResponseDto;
+import com.example.order.dto.OrderTimelineDto;
 import com.example.order.kafka.OrderProducer;
 import com.example.order.repository.OrderRepository;
+import com.example.order.repository.OrderTimelineRepository;
+import com.example.saga.event.idempotency.ProcessedEventStore;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderService {
+    // 조회 API 캐시 이름 (SagaCacheConfig)
+    public static final String ORDERS_CACHE = "orders";
+
     private final OrderProducer orderProducer;
     private final OrderRepository orderRepository;
+    private final OrderTimelineRepository orderTimelineRepository;
+    private final ProcessedEventStore processedEventStore;
+    private final OrderSagaCoordinator orderSagaCoordinator;
+    private final OrderCompletionRegistry orderCompletionRegistry;
+    private final CacheManager cacheManager;
 
     /**
      * 주문을 생성하고 Kafka에 order-created 이벤트를 발행합니다.
@@ -30,9 +56,11 @@ public class OrderService {
                 .productId(request.getProductId())
                 .quantity(request.getQuantity())
                 .userId(request.getUserId())
+                .status(OrderStatus.CREATED)
                 .build();
 
         orderRepository.save(order);
+        orderSagaCoordinator.started(List.of(order), "order-api");
 
         orderProducer.sendOrderCreatedEvent(order);
 
@@ -45,22 +73,60 @@ public class OrderService {
                 .build();
     }
 
+    /**
+     * 여러 주문을 한 트랜잭션에서 생성합니다 (POST /orders/bulk).
+     * 주문은 시퀀스 ID로 배치 INSERT되고, order-created 이벤트는 outbox에 배치 INSERT됩니다.
+     */
+    @Transactional
+    public List<Order> createOrders(List<OrderRequestDto> requests) {
+        List<Order> orders = requests.stream()
+                .map(request -> Order.builder()
+                        .productId(request.getProductId())
+                        .quantity(request.getQuantity())
+                        .userId(request.getUserId())
+                        .status(OrderStatus.CREATED)
+                        .build())
+                .toList();
+
+        orderRepository.saveAll(orders);
+        orderSagaCoordinator.started(orders, "order-api");
+        orderProducer.sendOrderCreatedEvents(orders);
+        return orders;
+    }
+
     /**
      * 주문 정보를 조회합니다.
      * TODO: 1. OrderRepository.findById로 조회
      * TODO: 2. Order Entity → OrderResponseDto 변환 후 반환
+     *
+     * 상태가 바뀌면 이벤트 처리 트랜잭션이 커밋된 뒤 캐시 값을 새 상태로 교체합니다.
      */
+    @Cacheable(cacheNames = ORDERS_CACHE, key = "#orderId")
     public OrderResponseDto getOrder(Long orderId) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("주문 정보가 업습니다."));
 
-        return OrderResponseDto.builder()
-                .orderId(order.getOrderId())
-                .productId(order.getProductId())
-                .quantity(order.getQuantity())
-                .userId(order.getUserId())
-                .status(order.getStatus())
-                .build();
+        return toResponse(order);
+    }
+
+    /**
+     * 주문 상태가 바뀐 기록을 시간 순으로 조회합니다 (운영 디버깅용).
+     */
+    @Transactional(readOnly = true)
+    public List<OrderTimelineDto> getTimeline(Long orderId) {
+        List<OrderTimelineEntry> entries = orderTimelineRepository.findByOrderIdOrderByOccurredAtAscIdAsc(orderId);
+        if (entries.isEmpty() && !orderRepository.existsById(orderId)) {
+            throw new EntityNotFoundException("주문 정보가 없습니다.");
+        }
+        return entries.stream()
+                .map(entry -> OrderTimelineDto.builder()
+                        .fromStatus(entry.getFromStatus())
+                        .toStatus(entry.getToStatus())
+                        .source(entry.getSource())
+                        .eventId(entry.getEventId())
+                        .occurredAt(entry.getOccurredAt())
+                        .build())
+                .toList();
     }
 
     /**
@@ -68,13 +134,22 @@ public class OrderService {
      * TODO: 1. OrderRepository.findById로 주문 조회
      * TODO: 2. Order 상태를 INVENTORY_RESERVED로 업데이트
      * TODO: 3. DB에 저장
+     *
+     * 상태를 바꿨으면 true, 중복이거나 허용되지 않는 상태 변경이라 무시했으면 false를 반환합니다.
      */
     @Transactional
-    public void handleInventoryReserved(Long orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("주문 정보가 없습니다."));
+    public boolean handleInventoryReserved(Long orderId, String eventId) {
+        if (!processedEventStore.markProcessed(eventId)) {
+            return false;
+        }
 
-        order.setStatus(OrderStatus.INVENTORY_RESERVED);
+        Order order = orderRepository.findByIdForUpdate(orderId)
+                .orElseThrow(() -> new EntityNotFoundException("주문 정보가 없습니다."));
+        if (!orderSagaCoordinator.transition(order, OrderStatus.INVENTORY_RESERVED, "inventory-reserved", eventId)) {
+            return false;
+        }
+        updateStatusAfterCommit(order);
+        return true;
     }
 
     /**
@@ -82,13 +157,22 @@ public class OrderService {
      * TODO: 1. OrderRepository.findById로 주문 조회
      * TODO: 2. Order 상태를 COMPLETED로 업데이트
      * TODO: 3. DB에 저장
+     *
+     * 상태를 바꿨으면 true, 중복이거나 허용되지 않는 상태 변경이라 무시했으면 false를 반환합니다.
      */
     @Transactional
-    public void handlePaymentCompleted(Long orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("주문 정보가 없습니다."));
+    public boolean handlePaymentCompleted(Long orderId, String eventId) {
+        if (!processedEventStore.markProcessed(eventId)) {
+            return false;
+        }
 
-        order.setStatus(OrderStatus.COMPLETED);
+        Order order = orderRepository.findByIdForUpdate(orderId)
+                .orElseThrow(() -> new EntityNotFoundException("주문 정보가 없습니다."));
+        if (!orderSagaCoordinator.transition(order, OrderStatus.COMPLETED, "payment-completed", eventId)) {
+            return false;
+        }
+        updateStatusAfterCommit(order);
+        return true;
     }
 
     /**
@@ -96,12 +180,122 @@ public class OrderService {
      * TODO: 1. OrderRepository.findById로 주문 조회
      * TODO: 2. Order 상태를 FAILED로 업데이트
      * TODO: 3. DB에 저장
+     *
+     * 상태를 바꿨으면 true, 중복이거나 허용되지 않는 상태 변경이라 무시했으면 false를 반환합니다.
      */
     @Transactional
-    public void handleOrderFailed(Long orderId) {
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException(""));
+    public boolean handleOrderFailed(Long orderId, String eventId) {
+        if (!processedEventStore.markProcessed(eventId)) {
+            return false;
+        }
 
-        order.setStatus(OrderStatus.FAILED);
+        Order order = orderRepository.findByIdForUpdate(orderId)
+                .orElseThrow(() -> new EntityNotFoundException("주문 정보가 없습니다."));
+        if (!orderSagaCoordinator.transition(order, OrderStatus.FAILED, "order-failed", eventId)) {
+            return false;
+        }
+        updateStatusAfterCommit(order);
+        return true;
+    }
+
+    /**
+     * 한 번의 poll로 받은 상태 변경 이벤트들을 한 트랜잭션에서 처리합니다 (order.consumer.batch-mode=true).
+     *
+     * - 대상 주문의 현재 상태를 잠가 읽고, 주문별로 도착 순서대로 상태 전이를 검증 (단계마다 타임라인 기록)
+     * - 최종 상태별로 UPDATE ... WHERE order_id IN (...) 한 번씩 실행
+     * - 이미 더 진행된 주문은 UPDATE 조건(이전 상태)에 걸리지 않아 되돌아가지 않음
+     *
+     * 상태가 실제로 바뀐 주문의 최종 상태를 반환합니다. 중복 / 규칙 위반으로 버린 이벤트의 주문은 포함되지 않습니다.
+     * 주문 정보가 없는 주문이 있으면 UnknownOrderException을 던지고 배치 전체를 롤백합니다.
+     */
+    @Transactional
+    public Map<Long, OrderStatus> handleStatusChanges(List<OrderStatusChange> changes) {
+        List<OrderStatusChange> claimed = changes.stream()
+                .filter(change -> processedEventStore.markProcessed(change.eventId()))
+                .toList();
+        if (claimed.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<Long, OrderStatus> currentStatuses = new HashMap<>();
+        orderRepository.findStatuses(claimed.stream().map(OrderStatusChange::orderId).distinct().toList())
+                .forEach(view -> currentStatuses.put(view.getOrderId(), view.getStatus()));
+        Map<Long, OrderStatus> merged = orderSagaCoordinator.transitionAll(currentStatuses, claimed);
+        if (merged.isEmpty()) {
+            return merged;
+        }
+
+        Map<OrderStatus, List<Long>> orderIdsByStatus = merged.entrySet().stream()
+                .collect(Collectors.groupingBy(Map.Entry::getValue, () -> new EnumMap<>(OrderStatus.class),
+                        Collectors.mapping(Map.Entry::getKey, Collectors.toList())));
+        LocalDateTime now = LocalDateTime.now();
+        orderIdsByStatus.forEach((status, orderIds) ->
+                orderRepository.updateStatus(orderIds, status, status.precedingStatuses(), now));
+
+        // 벌크 UPDATE는 엔티티를 거치지 않으므로 캐시는 무효화하고, 대기자가 있는 주문만 다시 읽어 알린다
+        merged.keySet().forEach(orderId -> cacheManager.getCache(ORDERS_CACHE).evict(orderId));
+        List<Long> awaited = merged.entrySet().stream()
+                .filter(entry -> entry.getValue().isTerminal())
+                .map(Map.Entry::getKey)
+                .filter(orderCompletionRegistry::hasWaiters)
+                .toList();
+        if (!awaited.isEmpty()) {
+            orderRepository.findAllById(awaited).stream()
+                    .filter(order -> order.getStatus() != null && order.getStatus().isTerminal())
+                    .forEach(this::notifyCompletionAfterCommit);
+        }
+        return merged;
+    }
+
+    /**
+     * cutoff 이전부터 CREATED / INVENTORY_RESERVED에 멈춰 있는 주문을 최대 limit건 실패 처리합니다 (StaleOrderSweeper).
+     *
+     * 주문을 FAILED로 바꾸고 order-failed 이벤트를 같은 트랜잭션에서 outbox에 기록하므로,
+     * 재고 서비스가 예약한 재고를 복구하고 결제 서비스가 PENDING / 완료된 결제를 취소합니다. 처리한 주문 수를 반환합니다.
+     */
+    @Transactional
+    public int failStaleOrders(LocalDateTime cutoff, int limit) {
+        List<Order> staleOrders = orderRepository.findStaleForUpdate(cutoff, limit);
+        for (Order order : staleOrders) {
+            log.warn("처리가 멈춘 주문을 실패 처리합니다. orderId={}, status={}, updatedAt={}",
+                    order.getOrderId(), order.getStatus(), order.getUpdatedAt());
+            orderSagaCoordinator.transition(order, OrderStatus.FAILED, "sweeper", null);
+            orderProducer.sendOrderFailedEvent(order.getOrderId(), "주문 처리 시간이 초과되었습니다.");
+            updateStatusAfterCommit(order);
+        }
+        return staleOrders.size();
+    }
+
+    /**
+     * 바뀐 상태를 커밋 이후에 캐시와 대기 중인 요청(long-poll, SSE)에 반영합니다.
+     * 커밋 이후에 알리므로 클라이언트가 곧바로 조회해도 같은 상태를 보게 됩니다.
+     */
+    private void updateStatusAfterCommit(Order order) {
+        OrderResponseDto response = toResponse(order);
+        // 트랜잭션 인식 캐시이므로 put은 커밋 후에 적용되고, 대기자 알림보다 먼저 실행된다
+        cacheManager.getCache(ORDERS_CACHE).put(order.getOrderId(), response);
+        if (order.getStatus().isTerminal()) {
+            notifyCompletionAfterCommit(order);
+        }
+    }
+
+    private void notifyCompletionAfterCommit(Order order) {
+        OrderResponseDto response = toResponse(order);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                orderCompletionRegistry.complete(response);
+            }
+        });
+    }
+
+    private OrderResponseDto toResponse(Order order) {
+        return OrderResponseDto.builder()
+                .orderId(order.getOrderId())
+                .productId(order.getProductId())
+                .quantity(order.getQuantity())
+                .userId(order.getUserId())
+                .status(order.getStatus())
+                .build();
     }
 }
@@ -0,0 +1,10 @@
+package com.example.order.service;
+
+import com.example.order.domain.OrderStatus;
+
+/**
+ * 이벤트 하나가 요청하는 주문 상태 변경입니다. 배치 처리에서 주문별로 도착 순서대로 적용됩니다.
+ * source는 타임라인에 남길 이벤트 토픽 이름입니다.
+ */
+public record OrderStatusChange(Long orderId, OrderStatus status, String eventId, String source) {
+}
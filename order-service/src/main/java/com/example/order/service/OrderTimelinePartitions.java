@@ -0,0 +1,78 @@
+package com.example.order.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * order_timeline의 월별 파티션을 관리합니다 (init-db.sql로 파티션 테이블을 만든 경우에만 동작).
+ *
+ * - 이번 달과 다음 달 파티션을 미리 만들어 두어, 월이 바뀌어도 INSERT가 실패하지 않음
+ * - retention-months보다 오래된 파티션은 DROP (행 단위 DELETE / VACUUM 없이 보관 기간 정리)
+ * - JPA가 만든 일반 테이블이면 아무것도 하지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.timeline.partition-maintenance", havingValue = "true", matchIfMissing = true)
+public class OrderTimelinePartitions {
+
+    private static final String PARENT = "order_timeline";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${order.timeline.retention-months:3}")
+    private int retentionMonths;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${order.timeline.partition-interval-ms:3600000}")
+    public void maintain() {
+        try {
+            if (!isPartitioned()) {
+                return;
+            }
+            YearMonth now = YearMonth.now();
+            createPartition(now);
+            createPartition(now.plusMonths(1));
+            dropPartitionsBefore(now.minusMonths(retentionMonths));
+        } catch (RuntimeException e) {
+            log.warn("주문 타임라인 파티션 관리에 실패했습니다. 다음 주기에 재시도합니다.", e);
+        }
+    }
+
+    private boolean isPartitioned() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid " +
+                        "WHERE c.relname = ? AND c.relnamespace = current_schema()::regnamespace)",
+                Boolean.class, PARENT));
+    }
+
+    private void createPartition(YearMonth month) {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + PARENT + "_" + month.format(SUFFIX) +
+                " PARTITION OF " + PARENT +
+                " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+    }
+
+    private void dropPartitionsBefore(YearMonth cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE p.relname = ? AND p.relnamespace = current_schema()::regnamespace",
+                String.class, PARENT);
+        for (String partition : partitions) {
+            String suffix = partition.substring(partition.lastIndexOf('_') + 1);
+            if (suffix.matches("\\d{6}") && YearMonth.parse(suffix, SUFFIX).isBefore(cutoff)) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+                log.info("보관 기간이 지난 주문 타임라인 파티션을 삭제했습니다. partition={}", partition);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.order.service;
+
+import com.example.order.metrics.SagaMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * 이벤트 유실 등으로 CREATED / INVENTORY_RESERVED에 멈춘 주문을 찾아 실패 처리(보상)합니다.
+ *
+ * - (status, updated_at) 인덱스로 오래된 순서대로 batch-size건씩 FOR UPDATE SKIP LOCKED로 가져오므로
+ *   여러 인스턴스가 동시에 실행되어도 서로 다른 주문을 처리
+ * - 배치마다 한 트랜잭션에서 FAILED로 바꾸고 order-failed 이벤트를 outbox에 기록 (재고 복구 요청)
+ * - timeout은 결제 스위퍼의 timeout + PG 지연보다 길게 두어, 결제 재처리로 끝날 수 있는 주문을 먼저 실패시키지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "order.sweeper.enabled", havingValue = "true", matchIfMissing = true)
+public class StaleOrderSweeper {
+
+    private final OrderService orderService;
+    private final SagaMetrics sagaMetrics;
+
+    @Value("${order.sweeper.timeout:10m}")
+    private Duration timeout;
+
+    @Value("${order.sweeper.batch-size:200}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${order.sweeper.interval-ms:30000}",
+            initialDelayString = "${order.sweeper.interval-ms:30000}")
+    public void sweep() {
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(timeout);
+            int failed;
+            do {
+                failed = orderService.failStaleOrders(cutoff, batchSize);
+                sagaMetrics.incrementSweptOrders(failed);
+            } while (failed == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("멈춘 주문 처리에 실패했습니다. 다음 주기에 재시도합니다.", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.order.service;
+
+import jakarta.persistence.EntityNotFoundException;
+
+import java.util.List;
+
+/**
+ * 배치로 받은 상태 변경 중 주문 정보가 없는 주문이 있을 때 던집니다 (OrderSagaCoordinator.transitionAll).
+ * EntityNotFoundException이므로 단일 레코드 리스너와 마찬가지로 재시도하지 않고 DLT로 보냅니다.
+ */
+public class UnknownOrderException extends EntityNotFoundException {
+
+    private final List<Long> orderIds;
+    private final OrderStatusChange firstChange;
+
+    public UnknownOrderException(List<Long> orderIds, OrderStatusChange firstChange) {
+        super("주문 정보가 없습니다. orderIds=" + orderIds);
+        this.orderIds = List.copyOf(orderIds);
+        this.firstChange = firstChange;
+    }
+
+    /**
+     * 주문 정보가 없는 주문 ID (변경이 도착한 순서)
+     */
+    public List<Long> getOrderIds() {
+        return orderIds;
+    }
+
+    /**
+     * 주문 정보가 없는 주문의 첫 번째 변경
+     */
+    public OrderStatusChange getFirstChange() {
+        return firstChange;
+    }
+}
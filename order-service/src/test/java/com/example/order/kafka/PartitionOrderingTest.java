@@ -0,0 +1,165 @@
+package com.example.order.kafka;
+
+import com.example.saga.event.OrderFailedEvent;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * OrderProducer → outbox_event → OutboxRelay 경로로 보낸 이벤트가 orderId를 키로 여러 파티션에 나뉘고,
+ * 서비스의 리스너 컨테이너 팩토리로 concurrency > 1에서 읽어도 주문별로 기록한 순서대로, 한 스레드에서 처리되는지 확인합니다.
+ */
+@SpringBootTest(properties = {
+        "saga.kafka.listener.concurrency=3",
+        "saga.kafka.topic.partitions=6",
+        "outbox.relay.poll-interval-ms=50",
+        "order.sweeper.enabled=false",
+        "spring.jpa.show-sql=false"
+})
+@EmbeddedKafka(partitions = 6, topics = "order-failed", bootstrapServersProperty = "spring.kafka.bootstrap-servers")
+class PartitionOrderingTest {
+
+    private static final String TOPIC = "order-failed";
+    private static final int PARTITIONS = 6;
+    private static final int ORDERS = 30;
+    private static final int EVENTS_PER_ORDER = 20;
+
+    private static final EmbeddedPostgres POSTGRES = startPostgres();
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url",
+                () -> "jdbc:postgresql://localhost:" + POSTGRES.getPort() + "/postgres?currentSchema=order_db");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        POSTGRES.close();
+    }
+
+    @Autowired
+    private OrderProducer orderProducer;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ConcurrentKafkaListenerContainerFactory<?, ?> kafkaListenerContainerFactory;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @Value("${saga.kafka.listener.concurrency}")
+    private int listenerConcurrency;
+
+    @Test
+    void keysEventsByOrderIdAndKeepsPerOrderOrderingAtConcurrency() throws Exception {
+        // 서비스의 @KafkaListener가 모두 saga.kafka.listener.concurrency를 따른다
+        assertThat(kafkaListenerEndpointRegistry.getListenerContainers()).isNotEmpty()
+                .allSatisfy(container -> assertThat(concurrencyOf(container)).isEqualTo(listenerConcurrency));
+        // 서비스 리스너가 테스트 이벤트(없는 주문의 order-failed)를 처리하지 않도록 멈춘다
+        kafkaListenerEndpointRegistry.stop();
+
+        List<String> keyMismatches = new CopyOnWriteArrayList<>();
+        Map<Long, List<Integer>> received = new ConcurrentHashMap<>();
+        Map<Long, Set<String>> threads = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(ORDERS * EVENTS_PER_ORDER);
+
+        ConcurrentMessageListenerContainer<?, ?> container = kafkaListenerContainerFactory.createContainer(TOPIC);
+        container.getContainerProperties().setGroupId("ordering-test-group");
+        container.setConcurrency(listenerConcurrency);
+        container.setupMessageListener((MessageListener<String, Object>) record -> {
+            OrderFailedEvent event = (OrderFailedEvent) record.value();
+            if (!String.valueOf(event.getOrderId()).equals(record.key())) {
+                keyMismatches.add(describe(record));
+            }
+            // 같은 주문은 한 스레드에서만 처리되므로 주문별 리스트에는 동시에 쓰지 않는다
+            received.computeIfAbsent(event.getOrderId(), orderId -> new ArrayList<>())
+                    .add(Integer.parseInt(event.getReason()));
+            threads.computeIfAbsent(event.getOrderId(), orderId -> ConcurrentHashMap.newKeySet())
+                    .add(Thread.currentThread().getName());
+            done.countDown();
+        });
+        container.start();
+        try {
+            ContainerTestUtils.waitForAssignment(container, PARTITIONS);
+
+            // 주문을 번갈아 가며 outbox에 기록한다 (reason을 주문 안의 순번으로 사용)
+            for (int sequence = 0; sequence < EVENTS_PER_ORDER; sequence++) {
+                String reason = String.valueOf(sequence);
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (long orderId = 1; orderId <= ORDERS; orderId++) {
+                        orderProducer.sendOrderFailedEvent(orderId, reason);
+                    }
+                });
+            }
+
+            assertThat(done.await(60, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            container.stop();
+        }
+
+        assertThat(keyMismatches).isEmpty();
+        assertThat(received).hasSize(ORDERS);
+        received.forEach((orderId, sequences) -> assertThat(sequences)
+                .as("orderId=%d", orderId)
+                .hasSize(EVENTS_PER_ORDER)
+                .isSorted());
+        threads.forEach((orderId, names) -> assertThat(names).as("orderId=%d", orderId).hasSize(1));
+        assertThat(threads.values().stream().flatMap(Set::stream).distinct().count()).isGreaterThan(1);
+    }
+
+    private static int concurrencyOf(MessageListenerContainer container) {
+        return container instanceof ConcurrentMessageListenerContainer<?, ?> concurrent ? concurrent.getConcurrency() : 1;
+    }
+
+    private static String describe(ConsumerRecord<String, Object> record) {
+        return record.topic() + "-" + record.partition() + "@" + record.offset() + " key=" + record.key();
+    }
+
+    private static EmbeddedPostgres startPostgres() {
+        try {
+            EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+            try (Connection connection = postgres.getPostgresDatabase().getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("CREATE SCHEMA IF NOT EXISTS order_db");
+            }
+            return postgres;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
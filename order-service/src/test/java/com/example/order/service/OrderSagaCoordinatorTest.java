@@ -0,0 +1,42 @@
+package com.example.order.service;
+
+import com.example.order.domain.OrderStatus;
+import com.example.order.metrics.SagaMetrics;
+import com.example.order.repository.OrderTimelineRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 배치로 받은 변경에 주문 정보가 없는 주문이 있으면 건너뛰지 않고, 첫 번째 변경을 담아 실패시키는지 확인합니다.
+ */
+class OrderSagaCoordinatorTest {
+
+    private final OrderTimelineRepository orderTimelineRepository = mock(OrderTimelineRepository.class);
+    private final OrderSagaCoordinator coordinator =
+            new OrderSagaCoordinator(orderTimelineRepository, mock(SagaMetrics.class), 100);
+
+    @Test
+    void rejectsBatchWithUnknownOrders() {
+        OrderStatusChange known = new OrderStatusChange(1L, OrderStatus.INVENTORY_RESERVED, "event-1", "inventory-reserved");
+        OrderStatusChange firstUnknown = new OrderStatusChange(2L, OrderStatus.INVENTORY_RESERVED, "event-2", "inventory-reserved");
+        OrderStatusChange unknownAgain = new OrderStatusChange(2L, OrderStatus.COMPLETED, "event-3", "payment-completed");
+        OrderStatusChange otherUnknown = new OrderStatusChange(3L, OrderStatus.FAILED, "event-4", "order-failed");
+
+        assertThatThrownBy(() -> coordinator.transitionAll(Map.of(1L, OrderStatus.CREATED),
+                List.of(known, firstUnknown, unknownAgain, otherUnknown)))
+                .isInstanceOfSatisfying(UnknownOrderException.class, e -> {
+                    assertThat(e.getOrderIds()).containsExactly(2L, 3L);
+                    assertThat(e.getFirstChange()).isEqualTo(firstUnknown);
+                });
+        verify(orderTimelineRepository, never()).saveAll(any());
+    }
+}
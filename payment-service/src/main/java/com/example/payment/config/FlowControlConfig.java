@@ -0,0 +1,57 @@
+package com.example.payment.config;
+
+import com.example.saga.event.kafka.AdaptiveFlowController;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ContainerCustomizer;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.util.function.Consumer;
+
+/**
+ * inventory-reserved 리스너의 결제 처리(엔진 대기 + PG 호출 + 결과 커밋) 지연 / 실패로 리스너 컨테이너를 멈추고 다시 시작합니다 (AdaptiveFlowController).
+ *
+ * - 상한은 엔진 한도(파티션 수 x max-in-flight-per-partition)이며, 그 아래에서 엔진에 넘기는 결제 수를 줄입니다.
+ * - pauseImmediate: 멈추면 이번 poll에서 남은 레코드도 처리하지 않고 재개 후에 처리 (poll 배치를 다 처리할 때까지 기다리지 않음)
+ * - payment.flow.enabled=false면 진행 중인 수만 기록
+ */
+@Configuration
+public class FlowControlConfig {
+
+    public static final String INVENTORY_RESERVED_LISTENER_ID = "payment-inventory-reserved";
+
+    @Bean
+    public AdaptiveFlowController inventoryReservedFlowController(
+            KafkaListenerEndpointRegistry registry,
+            MeterRegistry meterRegistry,
+            @Value("${payment.flow.enabled:true}") boolean enabled,
+            @Value("${payment.flow.min-limit:4}") int minLimit,
+            @Value("${payment.flow.max-limit:384}") int maxLimit,
+            @Value("${payment.flow.target-latency-ms:3000}") long targetLatencyMs,
+            @Value("${payment.flow.backoff-ratio:0.7}") double backoffRatio) {
+        AdaptiveFlowController.Settings settings = new AdaptiveFlowController.Settings(
+                enabled, Math.min(minLimit, maxLimit), maxLimit, targetLatencyMs, backoffRatio);
+        return new AdaptiveFlowController(INVENTORY_RESERVED_LISTENER_ID, settings, meterRegistry,
+                onContainer(registry, MessageListenerContainer::pause),
+                onContainer(registry, MessageListenerContainer::resume));
+    }
+
+    @Bean
+    public ContainerCustomizer<Object, Object, ConcurrentMessageListenerContainer<Object, Object>> pauseImmediateCustomizer() {
+        return container -> container.getContainerProperties().setPauseImmediate(true);
+    }
+
+    private static Runnable onContainer(KafkaListenerEndpointRegistry registry, Consumer<MessageListenerContainer> action) {
+        return () -> {
+            // 배치 모드 등으로 컨테이너가 아직 없으면 건너뛴다
+            MessageListenerContainer container = registry.getListenerContainer(INVENTORY_RESERVED_LISTENER_ID);
+            if (container != null) {
+                action.accept(container);
+            }
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.payment.config;
+
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+/**
+ * 이 서비스가 발행하는 토픽의 파티션 수를 선언합니다.
+ * 모든 이벤트가 orderId(또는 productId)로 키가 지정되므로, 파티션 수만큼 리스너 concurrency를 늘려도
+ * 한 토픽 안에서는 한 주문의 이벤트가 한 컨슈머 스레드에서 순서대로 처리됩니다.
+ * 토픽이 다르면 (예: inventory-reserved와 order-failed) 리스너 컨테이너가 달라 순서가 보장되지 않으며,
+ * 이 서비스에서는 결제 행과 취소 기록(PaymentService)이, 주문 서비스에서는 상태 전이 규칙(OrderSagaCoordinator)이
+ * 늦게 도착한 이벤트를 걸러냅니다.
+ */
+@Configuration
+public class KafkaTopicConfig {
+
+    @Value("${saga.kafka.topic.partitions:6}")
+    private int partitions;
+
+    @Value("${saga.kafka.topic.replicas:1}")
+    private int replicas;
+
+    @Bean
+    public NewTopic paymentCompletedTopic() {
+        return TopicBuilder.name("payment-completed").partitions(partitions).replicas(replicas).build();
+    }
+
+    @Bean
+    public NewTopic orderFailedTopic() {
+        return TopicBuilder.name("order-failed").partitions(partitions).replicas(replicas).build();
+    }
+}
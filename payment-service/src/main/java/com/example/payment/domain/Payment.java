@@ -6,16 +6,23 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Entity
-@Table(name = "payments")
+@Table(name = "payments", indexes = {
+        @Index(name = "idx_payments_status_updated_at", columnList = "status, updated_at"),
+        // 주문당 결제 기록은 하나 (재고 예약 이벤트의 결제와 주문 실패의 취소 기록이 동시에 생기지 않도록)
+        @Index(name = "uk_payments_order_id", columnList = "order_id", unique = true)})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Payment {
 
+    // IDENTITY는 INSERT마다 키를 받아와야 해서 JDBC 배치가 꺼지므로, 시퀀스를 50개씩 미리 할당받는다
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "payments_seq")
+    @SequenceGenerator(name = "payments_seq", sequenceName = "payments_seq", allocationSize = 50)
     private Long paymentId;
 
     private Long orderId;
@@ -25,4 +32,12 @@ public class Payment {
     @Enumerated(EnumType.STRING)
     private PaymentStatus status;
 
+    // 마지막 상태 변경 시각. PaymentTimeoutSweeper가 (status, updated_at) 인덱스로 오래된 PENDING 결제를 찾는다
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        this.updatedAt = LocalDateTime.now();
+    }
 }
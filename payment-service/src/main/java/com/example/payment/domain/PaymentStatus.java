@@ -3,5 +3,7 @@ package com.example.payment.domain;
 public enum PaymentStatus {
     PENDING,    // 결제 대기
     COMPLETED,  // 결제 완료
-    FAILED      // 결제 실패
+    FAILED,     // 결제 실패
+    CANCELLING, // 주문 실패로 PG 승인 취소 중 (보상 트랜잭션)
+    CANCELLED   // 주문 실패로 취소됨. 결제 전에 실패한 주문은 금액 0인 기록으로 남아 늦게 온 재고 예약 이벤트의 결제를 막음
 }
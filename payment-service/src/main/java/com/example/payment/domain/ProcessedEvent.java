@@ -0,0 +1,24 @@
+package com.example.payment.domain;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 처리가 끝난 이벤트의 ID입니다. 재전달된 이벤트를 걸러내는 데 사용합니다.
+ */
+@Entity
+@Table(name = "processed_event", indexes = @Index(name = "idx_processed_event_processed_at", columnList = "processedAt"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProcessedEvent {
+
+    @Id
+    private String eventId;
+
+    private LocalDateTime processedAt;
+}
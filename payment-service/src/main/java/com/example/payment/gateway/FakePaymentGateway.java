@@ -0,0 +1,75 @@
+package com.example.payment.gateway;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 로컬 실행 / 벤치마크용 가짜 PG입니다 (payment.pg.type=fake).
+ *
+ * - 응답 지연: 중앙값 latency-ms의 로그정규 분포 (latency-sigma=0이면 고정)
+ * - slow-rate 비율의 요청은 slow-latency-ms만큼 더 늦게 응답 (꼬리 지연 재현)
+ * - failure-rate 비율의 요청은 지연 후 오류 응답
+ * - decline-amount 이상은 한도 초과로 거절
+ */
+@Component
+@ConditionalOnProperty(name = "payment.pg.type", havingValue = "fake", matchIfMissing = true)
+public class FakePaymentGateway implements PaymentGateway {
+
+    private final long latencyMs;
+    private final double latencySigma;
+    private final double slowRate;
+    private final long slowLatencyMs;
+    private final double failureRate;
+    private final int declineAmount;
+
+    public FakePaymentGateway(@Value("${payment.pg.latency-ms:2000}") long latencyMs,
+                              @Value("${payment.pg.fake.latency-sigma:0}") double latencySigma,
+                              @Value("${payment.pg.fake.slow-rate:0}") double slowRate,
+                              @Value("${payment.pg.fake.slow-latency-ms:10000}") long slowLatencyMs,
+                              @Value("${payment.pg.fake.failure-rate:0}") double failureRate,
+                              @Value("${payment.pg.fake.decline-amount:50000}") int declineAmount) {
+        this.latencyMs = latencyMs;
+        this.latencySigma = latencySigma;
+        this.slowRate = slowRate;
+        this.slowLatencyMs = slowLatencyMs;
+        this.failureRate = failureRate;
+        this.declineAmount = declineAmount;
+    }
+
+    @Override
+    public void approve(Long orderId, Long userId, int amount) {
+        respond();
+        if (amount >= declineAmount) {
+            throw new PaymentDeclinedException("결제 한도 초과");
+        }
+    }
+
+    @Override
+    public void cancel(Long orderId, int amount) {
+        respond();
+    }
+
+    private void respond() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long delayMs = Math.round(latencyMs * Math.exp(latencySigma * random.nextGaussian()));
+        if (random.nextDouble() < slowRate) {
+            delayMs += slowLatencyMs;
+        }
+        if (delayMs > 0) {
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                // 타임아웃 / 헤지 요청에서 진 쪽은 취소(interrupt)된다
+                Thread.currentThread().interrupt();
+                throw new PaymentGatewayException(PaymentGatewayException.Kind.ERROR, "PG 호출이 취소되었습니다.", e);
+            }
+        }
+
+        if (random.nextDouble() < failureRate) {
+            throw new PaymentGatewayException(PaymentGatewayException.Kind.ERROR, "PG 오류 응답");
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.payment.gateway;
+
+import com.example.payment.metrics.SagaMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PG 호출 결과로 PG 장애를 감지하여, 장애 중에는 호출하지 않고 바로 실패시킵니다.
+ *
+ * - CLOSED: 최근 window-size건 중 실패(오류, 타임아웃, slow-call-ms 초과) 비율이 threshold % 이상이면 OPEN
+ *   (minimum-calls건 이상 쌓인 뒤부터 판단)
+ * - OPEN: open-ms 동안 모든 호출을 거절
+ * - HALF_OPEN: 시험 호출 3건을 허용하여 모두 성공하면 CLOSED, 하나라도 실패하면 다시 OPEN
+ *
+ * 상태가 바뀌기 전에 시작한 호출의 결과는 새 상태의 판단에 쓰지 않습니다 (허가마다 상태 세대를 기록).
+ * PG 호출 빈도에서는 잠금 비용이 무시할 만하므로 synchronized로 단순하게 유지합니다.
+ */
+@Slf4j
+@Component
+public class PaymentCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private static final int HALF_OPEN_CALLS = 3;
+
+    private final SagaMetrics sagaMetrics;
+    private final boolean enabled;
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openNanos;
+    private final long slowCallNanos;
+
+    // 최근 호출 결과의 원형 버퍼 (true = 실패)
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private volatile State state = State.CLOSED;
+    private long generation;
+    private long openedAt;
+    private int halfOpenStarted;
+    private int halfOpenSucceeded;
+
+    public PaymentCircuitBreaker(SagaMetrics sagaMetrics,
+                                 @Value("${payment.pg.circuit.enabled:true}") boolean enabled,
+                                 @Value("${payment.pg.circuit.failure-rate-threshold:50}") int failureRateThreshold,
+                                 @Value("${payment.pg.circuit.window-size:50}") int windowSize,
+                                 @Value("${payment.pg.circuit.minimum-calls:20}") int minimumCalls,
+                                 @Value("${payment.pg.circuit.open-ms:10000}") long openMs,
+                                 @Value("${payment.pg.circuit.slow-call-ms:3000}") long slowCallMs) {
+        this.sagaMetrics = sagaMetrics;
+        this.enabled = enabled;
+        this.failureRateThreshold = failureRateThreshold;
+        this.window = new boolean[windowSize];
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMs);
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMs);
+        sagaMetrics.registerPgCircuitState(() -> state.ordinal());
+    }
+
+    /**
+     * 호출해도 되는지 확인합니다. 거절하면 -1, 허용하면 결과를 알릴 때 넘길 허가 번호를 반환합니다.
+     * 허가를 받은 호출은 반드시 onResult() 또는 onSkipped()를 호출해야 합니다.
+     */
+    public synchronized long tryAcquire() {
+        if (!enabled) {
+            return 0;
+        }
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return -1;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenStarted >= HALF_OPEN_CALLS) {
+                return -1;
+            }
+            halfOpenStarted++;
+        }
+        return generation;
+    }
+
+    /**
+     * 호출 결과를 기록합니다. 결제 거절(PaymentDeclinedException)은 PG가 정상 응답한 것이므로 failed=false입니다.
+     */
+    public synchronized void onResult(long permit, boolean failed, long durationNanos) {
+        if (!enabled || permit != generation) {
+            return;
+        }
+        boolean failure = failed || durationNanos > slowCallNanos;
+        if (state == State.HALF_OPEN) {
+            if (failure) {
+                transitionTo(State.OPEN);
+            } else if (++halfOpenSucceeded >= HALF_OPEN_CALLS) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+
+        if (windowCount == window.length) {
+            windowFailures -= window[windowIndex] ? 1 : 0;
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        windowFailures += failure ? 1 : 0;
+        windowIndex = (windowIndex + 1) % window.length;
+
+        if (windowCount >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCount) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    /**
+     * 허가를 받았지만 호출하지 않았습니다 (벌크헤드 거절 등). 반열림 상태의 시험 호출 자리를 돌려줍니다.
+     */
+    public synchronized void onSkipped(long permit) {
+        if (enabled && permit == generation && state == State.HALF_OPEN) {
+            halfOpenStarted--;
+        }
+    }
+
+    public State state() {
+        return state;
+    }
+
+    private void transitionTo(State next) {
+        log.warn("PG 서킷 브레이커 상태가 바뀌었습니다. {} -> {} (최근 실패 {}/{})",
+                state, next, windowFailures, windowCount);
+        state = next;
+        generation++;
+        halfOpenStarted = 0;
+        halfOpenSucceeded = 0;
+        if (next == State.OPEN) {
+            openedAt = System.nanoTime();
+        } else if (next == State.CLOSED) {
+            windowIndex = 0;
+            windowCount = 0;
+            windowFailures = 0;
+        }
+        sagaMetrics.incrementPgCircuitTransitions(next.name());
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.payment.gateway;
+
+/**
+ * PG가 결제를 거절했습니다. PG는 정상 응답한 것이므로 서킷 브레이커의 실패로 세지 않습니다.
+ */
+public class PaymentDeclinedException extends RuntimeException {
+
+    public PaymentDeclinedException(String message) {
+        super(message);
+    }
+}
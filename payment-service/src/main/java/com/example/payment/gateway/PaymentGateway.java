@@ -0,0 +1,26 @@
+package com.example.payment.gateway;
+
+/**
+ * 외부 PG사 승인 / 취소 API입니다.
+ *
+ * orderId를 멱등 키로 보내므로 같은 주문을 여러 번 요청해도(헤지 요청, 스위퍼 재처리) 한 번만 승인됩니다.
+ * 취소된 orderId로 늦게 도착한 승인 요청은 PG가 거절합니다.
+ * 직접 호출하지 않고 PaymentGatewayClient(벌크헤드, 서킷 브레이커, 타임아웃, 헤지 요청)를 거쳐 호출합니다.
+ */
+public interface PaymentGateway {
+
+    /**
+     * 결제를 승인합니다.
+     *
+     * @throws PaymentDeclinedException PG가 결제를 거절한 경우 (한도 초과 등, 다시 시도해도 같은 결과)
+     * @throws PaymentGatewayException  PG 장애 등으로 승인 여부를 받지 못한 경우
+     */
+    void approve(Long orderId, Long userId, int amount);
+
+    /**
+     * 승인을 취소합니다 (주문 실패에 따른 환불). 승인되지 않은 주문이면 아무 일도 하지 않으며, 여러 번 호출해도 한 번만 취소됩니다.
+     *
+     * @throws PaymentGatewayException PG 장애 등으로 취소 결과를 받지 못한 경우 (다시 호출해야 함)
+     */
+    void cancel(Long orderId, int amount);
+}
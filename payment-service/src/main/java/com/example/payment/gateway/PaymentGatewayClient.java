@@ -0,0 +1,201 @@
+package com.example.payment.gateway;
+
+import com.example.payment.metrics.SagaMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * PaymentGateway를 장애에 강하게 호출합니다. PaymentService는 PG를 이 클라이언트로만 호출합니다.
+ *
+ * - 벌크헤드: 동시에 진행 중인 PG 호출을 max-concurrent건으로 제한 (자리가 나기를 max-wait-ms까지 기다린 뒤 거절)
+ *   PG가 느려져도 결제 가상 스레드와 DB 커넥션이 PG 대기에 묶여 쌓이지 않음
+ * - 서킷 브레이커: PG 장애 중에는 호출하지 않고 바로 실패 (PaymentCircuitBreaker)
+ * - 타임아웃: timeout-ms 안에 응답이 없으면 포기 (승인 여부를 알 수 없으므로 TIMEOUT으로 구분)
+ * - 헤지 요청: hedge-delay-ms(> 0)가 지나도 응답이 없으면 같은 멱등 키로 한 번 더 요청하고 먼저 온 응답을 사용
+ *   벌크헤드에 자리가 있을 때만 보내며, 진 쪽은 취소(interrupt)
+ */
+@Component
+public class PaymentGatewayClient {
+
+    private final PaymentGateway paymentGateway;
+    private final PaymentCircuitBreaker circuitBreaker;
+    private final SagaMetrics sagaMetrics;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore bulkhead;
+    private final long timeoutNanos;
+    private final long maxWaitMs;
+    private final long hedgeDelayNanos;
+
+    public PaymentGatewayClient(PaymentGateway paymentGateway,
+                                PaymentCircuitBreaker circuitBreaker,
+                                SagaMetrics sagaMetrics,
+                                @Value("${payment.pg.timeout-ms:5000}") long timeoutMs,
+                                @Value("${payment.pg.bulkhead.max-concurrent:64}") int maxConcurrent,
+                                @Value("${payment.pg.bulkhead.max-wait-ms:100}") long maxWaitMs,
+                                @Value("${payment.pg.hedge-delay-ms:0}") long hedgeDelayMs) {
+        this.paymentGateway = paymentGateway;
+        this.circuitBreaker = circuitBreaker;
+        this.sagaMetrics = sagaMetrics;
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        this.maxWaitMs = maxWaitMs;
+        this.hedgeDelayNanos = TimeUnit.MILLISECONDS.toNanos(hedgeDelayMs);
+        sagaMetrics.registerPgInFlight(() -> maxConcurrent - bulkhead.availablePermits());
+    }
+
+    /**
+     * 결제를 승인합니다. 예외는 PaymentGateway.approve()와 같습니다.
+     */
+    public void approve(Long orderId, Long userId, int amount) {
+        long start = System.nanoTime();
+        long permit = circuitBreaker.tryAcquire();
+        if (permit < 0) {
+            sagaMetrics.recordPgCall(start, "rejected");
+            throw new PaymentGatewayException(PaymentGatewayException.Kind.UNAVAILABLE, "PG 장애로 결제를 일시 중단했습니다.");
+        }
+        if (!acquireBulkhead()) {
+            circuitBreaker.onSkipped(permit);
+            sagaMetrics.recordPgCall(start, "rejected");
+            throw new PaymentGatewayException(PaymentGatewayException.Kind.UNAVAILABLE, "PG 동시 호출 한도를 초과했습니다.");
+        }
+
+        String result = "error";
+        try {
+            call(orderId, userId, amount, start);
+            result = "success";
+        } catch (PaymentDeclinedException e) {
+            result = "declined";
+            throw e;
+        } catch (PaymentGatewayException e) {
+            result = e.getKind() == PaymentGatewayException.Kind.TIMEOUT ? "timeout" : "error";
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            circuitBreaker.onResult(permit, !"success".equals(result) && !"declined".equals(result), elapsed);
+            sagaMetrics.recordPgCall(start, result);
+        }
+    }
+
+    /**
+     * 결제 승인을 취소합니다 (보상 트랜잭션). 예외는 PaymentGateway.cancel()과 같습니다.
+     * 주문 실패마다 한 번씩만 호출되고 PG 장애 중에도 환불은 시도해야 하므로 벌크헤드 / 서킷 브레이커 / 헤지를 거치지 않습니다.
+     */
+    public void cancel(Long orderId, int amount) {
+        long start = System.nanoTime();
+        try {
+            paymentGateway.cancel(orderId, amount);
+            sagaMetrics.recordPgCall(start, "cancelled");
+        } catch (RuntimeException e) {
+            sagaMetrics.recordPgCall(start, "cancel-error");
+            throw e;
+        }
+    }
+
+    private void call(Long orderId, Long userId, int amount, long start) {
+        ExecutorCompletionService<Void> attempts = new ExecutorCompletionService<>(executor);
+        List<Attempt> started = new ArrayList<>(2);
+        started.add(submit(attempts, orderId, userId, amount));
+        Attempt hedge = null;
+        boolean hedgeTried = hedgeDelayNanos <= 0;
+        int pending = 1;
+        RuntimeException lastError = null;
+        try {
+            while (pending > 0) {
+                long now = System.nanoTime();
+                long waitNanos = start + timeoutNanos - now;
+                if (!hedgeTried) {
+                    waitNanos = Math.min(waitNanos, start + hedgeDelayNanos - now);
+                }
+                Future<Void> done = waitNanos > 0 ? attempts.poll(waitNanos, TimeUnit.NANOSECONDS) : attempts.poll();
+                if (done == null) {
+                    if (System.nanoTime() - start >= timeoutNanos) {
+                        throw new PaymentGatewayException(PaymentGatewayException.Kind.TIMEOUT, "PG 응답 시간이 초과되었습니다.");
+                    }
+                    hedgeTried = true;
+                    if (bulkhead.tryAcquire()) {
+                        hedge = submit(attempts, orderId, userId, amount);
+                        started.add(hedge);
+                        pending++;
+                    }
+                    continue;
+                }
+
+                pending--;
+                try {
+                    done.get();
+                    if (hedge != null) {
+                        sagaMetrics.incrementPgHedges(done == hedge.future());
+                    }
+                    return;
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof PaymentDeclinedException declined) {
+                        throw declined;
+                    }
+                    lastError = e.getCause() instanceof PaymentGatewayException failure ? failure
+                            : new PaymentGatewayException(PaymentGatewayException.Kind.ERROR, "PG 호출에 실패했습니다.", e.getCause());
+                }
+            }
+            throw lastError;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PaymentGatewayException(PaymentGatewayException.Kind.TIMEOUT, "PG 응답 대기가 중단되었습니다.", e);
+        } finally {
+            // 끝나지 않은 요청(타임아웃, 헤지에서 진 쪽)은 취소한다
+            started.forEach(Attempt::cancel);
+        }
+    }
+
+    private Attempt submit(ExecutorCompletionService<Void> attempts, Long orderId, Long userId, int amount) {
+        AtomicBoolean claimed = new AtomicBoolean();
+        Future<Void> future = attempts.submit(() -> {
+            if (!claimed.compareAndSet(false, true)) {
+                return null;
+            }
+            try {
+                paymentGateway.approve(orderId, userId, amount);
+                return null;
+            } finally {
+                bulkhead.release();
+            }
+        });
+        return new Attempt(future, claimed, bulkhead);
+    }
+
+    /**
+     * 벌크헤드 자리 하나를 차지한 PG 요청입니다. 시작 전에 취소되면 요청이 실행되지 않으므로 여기서 자리를 돌려줍니다.
+     */
+    private record Attempt(Future<Void> future, AtomicBoolean claimed, Semaphore bulkhead) {
+        void cancel() {
+            future.cancel(true);
+            if (claimed.compareAndSet(false, true)) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    private boolean acquireBulkhead() {
+        try {
+            return bulkhead.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.close();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.payment.gateway;
+
+/**
+ * PG 호출이 결과 없이 끝났습니다.
+ *
+ * - ERROR: PG가 오류를 반환 (승인되지 않음)
+ * - TIMEOUT: 응답을 기다리다 포기 (승인 여부를 알 수 없음)
+ * - UNAVAILABLE: 벌크헤드가 가득 찼거나 서킷이 열려 호출하지 않음
+ */
+public class PaymentGatewayException extends RuntimeException {
+
+    public enum Kind {
+        ERROR, TIMEOUT, UNAVAILABLE
+    }
+
+    private final Kind kind;
+
+    public PaymentGatewayException(Kind kind, String message) {
+        super(message);
+        this.kind = kind;
+    }
+
+    public PaymentGatewayException(Kind kind, String message, Throwable cause) {
+        super(message, cause);
+        this.kind = kind;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+}
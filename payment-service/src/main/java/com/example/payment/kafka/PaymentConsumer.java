@@ -1,28 +1,131 @@
 package com.example.payment.kafka;
 
-// import com.example.payment.dto.event.OrderFailedEvent;  // TODO: Create this DTO
-import com.example.payment.dto.event.InventoryReservedEvent;
+import com.example.payment.config.FlowControlConfig;
+import com.example.payment.metrics.SagaMetrics;
+import com.example.payment.service.PaymentExecutionEngine;
 import com.example.payment.service.PaymentService;
+import com.example.saga.event.InventoryReservedEvent;
+import com.example.saga.event.OrderFailedEvent;
+import com.example.saga.event.idempotency.ProcessedEventStore;
+import com.example.saga.event.kafka.AdaptiveFlowController;
+import com.example.saga.event.kafka.SagaFailureRecoverer;
+import com.example.saga.event.kafka.SagaRetryableTopic;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.annotation.DltHandler;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class PaymentConsumer {
 
     private final PaymentService paymentService;
+    private final PaymentExecutionEngine paymentExecutionEngine;
+    private final ProcessedEventStore processedEventStore;
+    private final SagaMetrics sagaMetrics;
+    private final AdaptiveFlowController flowController;
+    private final SagaFailureRecoverer sagaFailureRecoverer;
 
     /**
      * inventory-reserved 토픽을 구독하여 재고 예약 완료 이벤트를 처리합니다.
+     * 결제는 PaymentExecutionEngine에서 비동기로 처리되며,
+     * 결과가 저장/발행된 뒤에 오프셋을 커밋합니다 (async-acks).
+     * 결제 작업이 실패하면(PENDING 기록 / 결과 발행 실패, 엔진 종료) 레코드를 다음 재시도 토픽(또는 DLT)에 넘긴 뒤에 커밋합니다.
+     * 진행 중인 결제 수가 flowController의 limit에 닿으면 컨테이너를 멈추고, 결제가 끝나 줄어들면 다시 가져옵니다.
+     * 흐름 제어에는 PG 오류 / 타임아웃과 작업 실패를 오류로 알립니다 (결제 거절은 정상 응답).
      * TODO: 1. @KafkaListener 설정
      * TODO: 2. 메시지 파싱
      * TODO: 3. PaymentService.processPayment() 호출
      */
-    @KafkaListener(topics = "inventory-reserved", groupId = "payment-service-group")
-    public void consumeInventoryReservedEvent(InventoryReservedEvent event) {
-        paymentService.processPayment(event.getOrderId(), event.getUserId(), event.getAmount());
+    @SagaRetryableTopic
+    @KafkaListener(id = FlowControlConfig.INVENTORY_RESERVED_LISTENER_ID, topics = "inventory-reserved", groupId = "payment-service-group",
+            concurrency = "${saga.kafka.listener.concurrency:1}")
+    public void consumeInventoryReservedEvent(ConsumerRecord<String, InventoryReservedEvent> record,
+                                              Acknowledgment acknowledgment) {
+        InventoryReservedEvent event = record.value();
+        long start = System.nanoTime();
+        SagaMetrics.StageTimers timers = sagaMetrics.stage("inventory-reserved");
+        timers.recordQueueWait(event.getOccurredAt());
+        if (processedEventStore.isKnownDuplicate(event.getEventId())) {
+            acknowledgment.acknowledge();
+            return;
+        }
+        long flowStart = flowController.acquire();
+        try {
+            paymentExecutionEngine.submit(
+                    record.partition(),
+                    event.getOrderId(),
+                    () -> paymentService.processPayment(
+                            event.getOrderId(), event.getUserId(), event.getAmount(), event.getEventId(),
+                            event.getSagaStartedAt()),
+                    (pgAnswered, failure) -> {
+                        // 엔진이 작업을 실행하지 못한 경우에도 여기서 진행 중인 수를 돌려준다
+                        flowController.release(flowStart, failure == null && pgAnswered);
+                        // handler: 리스너 진입부터 엔진 대기, PG 호출, 결과 커밋까지
+                        timers.recordHandler(start);
+                        if (failure == null) {
+                            acknowledgment.acknowledge();
+                        } else {
+                            forwardFailure(record, failure, acknowledgment);
+                        }
+                    }
+            );
+        } catch (RuntimeException e) {
+            flowController.release(flowStart, false);
+            throw e;
+        }
+    }
+
+    /**
+     * 엔진에서 실패한 레코드는 리스너가 예외를 받지 못해 @SagaRetryableTopic이 재시도 토픽으로 옮기지 못하므로,
+     * 컨테이너와 같은 방식(SagaFailureRecoverer)으로 재시도 헤더를 붙여 다음 재시도 토픽 / DLT로 보내고 전송이 확인된 뒤에 커밋합니다.
+     * async-acks에서는 nack을 쓸 수 없으므로, 전송까지 실패하면 커밋하지 않고 리밸런스 후 재전달되게 합니다.
+     */
+    private void forwardFailure(ConsumerRecord<String, InventoryReservedEvent> record, Throwable failure,
+                                Acknowledgment acknowledgment) {
+        try {
+            sagaFailureRecoverer.recover(FlowControlConfig.INVENTORY_RESERVED_LISTENER_ID, record, failure);
+            acknowledgment.acknowledge();
+        } catch (RuntimeException e) {
+            log.error("실패한 결제 이벤트를 재시도 토픽으로 보내지 못했습니다. topic={}, orderId={}",
+                    record.topic(), record.value().getOrderId(), e);
+        }
+    }
+
+    /**
+     * order-failed 토픽을 구독하여 주문이 실패한 결제를 취소합니다 (보상 트랜잭션).
+     * 결제 실패로 이 서비스가 발행한 이벤트도 받지만, 결제가 이미 FAILED이므로 아무것도 하지 않습니다.
+     */
+    @SagaRetryableTopic
+    @KafkaListener(topics = "order-failed", groupId = "payment-service-group",
+            concurrency = "${saga.kafka.listener.concurrency:1}")
+    public void consumeOrderFailedEvent(OrderFailedEvent event, Acknowledgment acknowledgment) {
+        long start = System.nanoTime();
+        SagaMetrics.StageTimers timers = sagaMetrics.stage("order-failed");
+        timers.recordQueueWait(event.getOccurredAt());
+        paymentService.cancelPayment(event.getOrderId());
+        timers.recordHandler(start);
+        acknowledgment.acknowledge();
+    }
+
+    /**
+     * 재시도를 모두 실패했거나 재시도할 수 없는 메시지(주문 없음, 잘못된 데이터 등)가 DLT에 도착하면 기록합니다.
+     * 원인을 해결한 뒤 POST /admin/dlt/{topic}/replay로 이 서비스의 재시도 토픽에 다시 보낼 수 있습니다.
+     */
+    @DltHandler
+    public void handleDeadLetter(ConsumerRecord<String, Object> record, Acknowledgment acknowledgment) {
+        Header error = record.headers().lastHeader(KafkaHeaders.DLT_EXCEPTION_MESSAGE);
+        log.error("DLT로 이동한 메시지입니다. topic={}, key={}, error={}", record.topic(), record.key(),
+                error != null ? new String(error.value(), StandardCharsets.UTF_8) : null);
+        sagaMetrics.incrementDeadLetters(record.topic());
+        acknowledgment.acknowledge();
     }
 }
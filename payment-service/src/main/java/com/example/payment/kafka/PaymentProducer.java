@@ -1,42 +1,72 @@
 package com.example.payment.kafka;
 
-import com.example.payment.dto.event.OrderFailedEvent;
-import com.example.payment.dto.event.PaymentCompleteEvent;
+import com.example.payment.domain.OutboxEvent;
+import com.example.payment.repository.OutboxEventRepository;
+import com.example.saga.event.OrderFailedEvent;
+import com.example.saga.event.PaymentCompletedEvent;
+import com.example.saga.event.codec.SagaEventCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 이벤트를 outbox_event 테이블에 기록합니다.
+ * 호출한 트랜잭션과 함께 커밋되며, 실제 Kafka 전송은 OutboxRelay가 담당합니다.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class PaymentProducer {
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final OutboxEventRepository outboxEventRepository;
 
     /**
      * payment-completed 토픽에 결제 완료 이벤트를 발행합니다.
      * TODO: kafkaTemplate.send() 사용
      */
-    public void sendPaymentCompletedEvent(Long orderId, Long paymentId) {
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void sendPaymentCompletedEvent(Long orderId, Long paymentId, Integer amount, Long sagaStartedAt) {
         // Topic name: "payment-completed"
-        PaymentCompleteEvent event = PaymentCompleteEvent.builder()
+        PaymentCompletedEvent event = PaymentCompletedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .sagaStartedAt(sagaStartedAt)
+                .occurredAt(System.currentTimeMillis())
                 .orderId(orderId)
                 .paymentId(paymentId)
+                .amount(amount)
                 .build();
-        kafkaTemplate.send("payment-completed", event);
+        saveOutboxEvent("payment-completed", orderId, event);
     }
 
     /**
      * order-failed 토픽에 주문 실패 이벤트를 발행합니다.
      * TODO: 결제 실패 시 사용
      */
-    public void sendOrderFailedEvent(Long orderId, String reason) {
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void sendOrderFailedEvent(Long orderId, String reason, Long sagaStartedAt) {
         // Topic name: "order-failed"
         OrderFailedEvent event = OrderFailedEvent.builder()
+                .eventId(UUID.randomUUID().toString())
+                .sagaStartedAt(sagaStartedAt)
+                .occurredAt(System.currentTimeMillis())
                 .orderId(orderId)
                 .reason(reason)
                 .build();
-        kafkaTemplate.send("order-failed", event);
+        saveOutboxEvent("order-failed", orderId, event);
+    }
+
+    private void saveOutboxEvent(String topic, Long key, Object event) {
+        outboxEventRepository.save(OutboxEvent.builder()
+                .topic(topic)
+                .messageKey(String.valueOf(key))
+                .eventType(event.getClass().getName())
+                .body(SagaEventCodec.encode(event))
+                .createdAt(LocalDateTime.now())
+                .build());
     }
 }
@@ -0,0 +1,102 @@
+package com.example.payment.metrics;
+
+import com.example.saga.event.metrics.AbstractSagaMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 이 서비스의 사가 지표입니다. 단계별 지연, outbox, 전송, DLT 지표는 AbstractSagaMetrics에 있습니다.
+ *
+ * saga.payment.pg{result}: PG 호출 시간 (success / declined / error / timeout / rejected, 취소는 cancelled / cancel-error)
+ * saga.compensations: 주문 실패로 결제를 취소(PG 승인 취소)한 횟수
+ * saga.payment.pg.in-flight, saga.payment.pg.circuit.state: 진행 중인 PG 호출 수, 서킷 상태 (0 CLOSED, 1 OPEN, 2 HALF_OPEN)
+ * saga.payment.pg.hedged{outcome}: 헤지 요청을 보낸 횟수 (won: 헤지 요청이 먼저 응답)
+ */
+@Component
+public class SagaMetrics extends AbstractSagaMetrics {
+
+    private final Map<String, Timer> pgCalls = new ConcurrentHashMap<>();
+    private final Map<String, Counter> pgCircuitTransitions = new ConcurrentHashMap<>();
+    private final Counter pgHedgesWon;
+    private final Counter pgHedgesLost;
+    private final Counter sweptPayments;
+    private final Counter sweepErrors;
+    private final Counter compensations;
+
+    public SagaMetrics(MeterRegistry meterRegistry) {
+        super(meterRegistry);
+        this.pgHedgesWon = Counter.builder("saga.payment.pg.hedged").tag("outcome", "won").register(meterRegistry);
+        this.pgHedgesLost = Counter.builder("saga.payment.pg.hedged").tag("outcome", "lost").register(meterRegistry);
+        this.sweptPayments = Counter.builder("saga.sweeper.recovered").tag("action", "redriven").register(meterRegistry);
+        this.sweepErrors = Counter.builder("saga.sweeper.errors").register(meterRegistry);
+        this.compensations = Counter.builder("saga.compensations").register(meterRegistry);
+    }
+
+    /**
+     * PG 호출 시간입니다. 결제 처리 시간 중 DB와 무관한 외부 대기 구간이며,
+     * result=rejected는 벌크헤드 / 서킷 브레이커가 호출 없이 거절한 건입니다.
+     */
+    public void recordPgCall(long startNanos, String result) {
+        Timer timer = pgCalls.get(result);
+        if (timer == null) {
+            timer = pgCalls.computeIfAbsent(result, name -> Timer.builder("saga.payment.pg")
+                    .tag("result", name)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 헤지 요청을 보낸 호출입니다. won 비율이 낮으면 hedge-delay-ms를 늘려 불필요한 중복 요청을 줄입니다.
+     */
+    public void incrementPgHedges(boolean won) {
+        (won ? pgHedgesWon : pgHedgesLost).increment();
+    }
+
+    /**
+     * 서킷 브레이커가 state로 바뀐 횟수입니다.
+     */
+    public void incrementPgCircuitTransitions(String state) {
+        pgCircuitTransitions.computeIfAbsent(state, name -> Counter.builder("saga.payment.pg.circuit.transitions")
+                .tag("state", name)
+                .register(meterRegistry)).increment();
+    }
+
+    public void registerPgCircuitState(Supplier<Number> state) {
+        Gauge.builder("saga.payment.pg.circuit.state", state).register(meterRegistry);
+    }
+
+    public void registerPgInFlight(Supplier<Number> inFlight) {
+        Gauge.builder("saga.payment.pg.in-flight", inFlight).register(meterRegistry);
+    }
+
+    /**
+     * 오래 PENDING으로 남아 스위퍼가 다시 처리해 결과(COMPLETED / FAILED)를 기록한 결제 수입니다.
+     */
+    public void incrementSweptPayments() {
+        sweptPayments.increment();
+    }
+
+    /**
+     * 스위퍼의 재처리가 예외로 끝난 횟수입니다. 해당 결제는 다음 임대 만료 후 다시 시도됩니다.
+     */
+    public void incrementSweepErrors() {
+        sweepErrors.increment();
+    }
+
+    /**
+     * 보상 트랜잭션으로 실제로 결제를 취소한 횟수입니다.
+     */
+    public void incrementCompensations() {
+        compensations.increment();
+    }
+}
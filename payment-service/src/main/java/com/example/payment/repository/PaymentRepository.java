@@ -1,12 +1,51 @@
 package com.example.payment.repository;
 
 import com.example.payment.domain.Payment;
+import com.example.payment.domain.PaymentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, Long> {
     Optional<Payment> findByOrderId(Long orderId);
+
+    boolean existsByOrderId(Long orderId);
+
+    /**
+     * cutoff 이전부터 PENDING인 결제를 오래된 순으로 잠가 가져옵니다.
+     * (status, updated_at) 인덱스 범위만 읽으며, 다른 스위퍼 인스턴스가 잡은 행은 건너뜁니다.
+     */
+    @Query(value = "SELECT * FROM payments WHERE status = 'PENDING' AND updated_at < :cutoff " +
+            "ORDER BY updated_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Payment> findStalePendingForUpdate(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * 아직 PENDING인 결제만 결과 상태로 바꿉니다.
+     * 리스너와 스위퍼가 같은 결제를 동시에 끝내려 해도 한 곳만 1을 받으므로 결과 이벤트가 한 번만 발행됩니다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = :status, p.updatedAt = :updatedAt " +
+            "WHERE p.paymentId = :paymentId AND p.status = com.example.payment.domain.PaymentStatus.PENDING")
+    int finishPending(@Param("paymentId") Long paymentId,
+                      @Param("status") PaymentStatus status,
+                      @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * 결제가 아직 from 상태일 때만 to로 바꿉니다 (주문 실패에 따른 취소).
+     * 그 사이 결제 처리 / 스위퍼가 결과를 기록했으면 0을 반환합니다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Payment p SET p.status = :to, p.updatedAt = :updatedAt " +
+            "WHERE p.paymentId = :paymentId AND p.status = :from")
+    int transition(@Param("paymentId") Long paymentId,
+                   @Param("from") PaymentStatus from,
+                   @Param("to") PaymentStatus to,
+                   @Param("updatedAt") LocalDateTime updatedAt);
 }
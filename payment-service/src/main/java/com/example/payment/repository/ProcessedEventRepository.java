@@ -0,0 +1,35 @@
+package com.example.payment.repository;
+
+import com.example.payment.domain.ProcessedEvent;
+import com.example.saga.event.idempotency.ProcessedEventLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, String>, ProcessedEventLog {
+
+    // 이미 있으면 0을 반환한다 (조회 없이 한 번의 INSERT로 중복 여부를 판단)
+    @Modifying
+    @Query(value = "INSERT INTO processed_event (event_id, processed_at) VALUES (:eventId, now()) ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("eventId") String eventId);
+
+    @Modifying
+    @Query("DELETE FROM ProcessedEvent p WHERE p.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    @Override
+    default int recordIfAbsent(String eventId) {
+        return insertIfAbsent(eventId);
+    }
+
+    @Override
+    default int purgeBefore(LocalDateTime cutoff) {
+        return deleteProcessedBefore(cutoff);
+    }
+}
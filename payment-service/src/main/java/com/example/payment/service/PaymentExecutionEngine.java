@@ -0,0 +1,81 @@
+package com.example.payment.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * 결제 처리를 리스너 스레드에서 분리하여 가상 스레드에서 실행합니다.
+ *
+ * - 파티션별로 동시에 처리 중인 결제 수를 제한 (초과 시 리스너 스레드가 대기)
+ * - 같은 orderId의 결제는 도착 순서대로 하나씩 처리
+ * - 작업의 성공 / 실패(예외, 엔진 종료로 실행 거부)를 onComplete에 넘겨, 호출 측이 성공한 경우에만 오프셋을 커밋하게 함
+ */
+@Slf4j
+@Component
+public class PaymentExecutionEngine {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<Integer, Semaphore> partitionPermits = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<?>> orderTails = new ConcurrentHashMap<>();
+    private final int maxInFlightPerPartition;
+
+    public PaymentExecutionEngine(
+            @Value("${payment.engine.max-in-flight-per-partition:64}") int maxInFlightPerPartition) {
+        this.maxInFlightPerPartition = maxInFlightPerPartition;
+    }
+
+    /**
+     * 결제 작업을 제출합니다.
+     *
+     * onComplete는 항상 한 번 호출되며, task가 끝까지 성공했으면 (결과, null), 예외로 끝났거나 엔진이 종료되어
+     * 실행되지 못했으면 (null, 예외)를 받습니다. 실패한 작업은 PENDING 기록이나 결과 이벤트가 없을 수 있으므로
+     * 호출 측은 오프셋을 커밋하기 전에 레코드를 다시 처리될 곳(재시도 토픽)에 넘겨야 합니다.
+     * 같은 orderId의 다음 작업은 앞 작업의 성공 여부와 관계없이 이어서 실행됩니다.
+     */
+    public <T> void submit(int partition, Long orderId, Supplier<T> task, BiConsumer<T, Throwable> onComplete) {
+        Semaphore permits = partitionPermits.computeIfAbsent(
+                partition, p -> new Semaphore(maxInFlightPerPartition));
+        permits.acquireUninterruptibly();
+
+        // 같은 orderId의 앞 작업 뒤에 잇는다 (put은 원자적으로 앞 작업을 꺼내고 이 작업을 끝에 둠)
+        CompletableFuture<T> tail = new CompletableFuture<>();
+        CompletableFuture<?> previous = orderTails.put(orderId, tail);
+        CompletableFuture<Object> ready = previous == null
+                ? CompletableFuture.completedFuture(null) : previous.handle((ignored, ex) -> null);
+        ready.thenApplyAsync(ignored -> task.get(), executor)
+                .whenComplete((result, ex) -> {
+                    if (ex == null) {
+                        tail.complete(result);
+                    } else {
+                        tail.completeExceptionally(ex);
+                    }
+                });
+
+        tail.whenComplete((result, ex) -> {
+            orderTails.remove(orderId, tail);
+            permits.release();
+            Throwable failure = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            if (failure != null) {
+                log.error("결제 처리에 실패했습니다. orderId={}", orderId, failure);
+            }
+            onComplete.accept(result, failure);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.close();
+    }
+}
@@ -3,16 +3,36 @@ package com.example.payment.service;
 import com.example.payment.domain.Payment;
 import com.example.payment.domain.PaymentStatus;
 import com.example.payment.dto.PaymentResponseDto;
+import com.example.payment.gateway.PaymentDeclinedException;
+import com.example.payment.gateway.PaymentGatewayClient;
+import com.example.payment.gateway.PaymentGatewayException;
 import com.example.payment.kafka.PaymentProducer;
+import com.example.payment.metrics.SagaMetrics;
 import com.example.payment.repository.PaymentRepository;
+import com.example.saga.event.idempotency.ProcessedEventStore;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class PaymentService {
+    // 조회 API 캐시 이름 (SagaCacheConfig)
+    public static final String PAYMENTS_CACHE = "payments";
+
     private final PaymentRepository paymentRepository;
     private final PaymentProducer paymentProducer;
+    private final TransactionTemplate transactionTemplate;
+    private final ProcessedEventStore processedEventStore;
+    private final SagaMetrics sagaMetrics;
+    private final CacheManager cacheManager;
+    private final PaymentGatewayClient paymentGatewayClient;
 
     /**
      * 재고 예약 완료 후 결제를 처리합니다.
@@ -35,8 +55,16 @@ public class PaymentService {
      *         - status를 FAILED로 변경
      *         - DB 업데이트
      *         - PaymentProducer.sendOrderFailedEvent 호출 (보상 트랜잭션 시작)
+     *
+     * PaymentExecutionEngine의 가상 스레드에서 호출되므로 PG 호출 대기가
+     * Kafka 리스너 스레드를 점유하지 않습니다.
+     * PG는 PaymentGatewayClient(벌크헤드, 서킷 브레이커, 타임아웃, 헤지 요청)를 거쳐 호출합니다.
+     *
+     * PG 오류 / 타임아웃 / 호출 불가로 끝났으면 false를 반환합니다 (흐름 제어의 오류 신호, 승인·거절은 true).
+     * 결제 결과는 FAILED나 PENDING으로 기록되므로 이 경우에도 예외는 던지지 않습니다.
      */
-    public void processPayment(Long orderId, Long userId, Integer amount) {
+    public boolean processPayment(Long orderId, Long userId, Integer amount, String eventId, Long sagaStartedAt) {
+        SagaMetrics.StageTimers timers = sagaMetrics.stage("inventory-reserved");
         Payment payment = Payment.builder()
                 .orderId(orderId)
                 .userId(userId)
@@ -44,23 +72,92 @@ public class PaymentService {
                 .status(PaymentStatus.PENDING)
                 .build();
 
-        paymentRepository.save(payment);
+        // 재전달된 이벤트로 결제가 두 번 시도되지 않도록 PENDING 기록과 함께 처리 이력을 남긴다
+        long claimStart = System.nanoTime();
+        Boolean claimed = transactionTemplate.execute(status -> {
+            if (!processedEventStore.markProcessed(eventId)) {
+                return false;
+            }
+            // 주문 실패로 이미 취소된 주문(CANCELLED)이나 다른 이벤트로 결제한 주문은 다시 결제하지 않는다
+            if (paymentRepository.existsByOrderId(orderId)) {
+                return false;
+            }
+            paymentRepository.save(payment);
+            return true;
+        });
+        timers.recordDb(claimStart);
+        if (!Boolean.TRUE.equals(claimed)) {
+            return true;
+        }
 
-        try {
-            Thread.sleep(2000);
+        return finishPayment(payment, sagaStartedAt, timers);
+    }
 
-            if (amount >= 50000) {
-                throw new RuntimeException("결제 한도 초과");
+    /**
+     * 오래 PENDING으로 남은 결제를 다시 처리합니다 (PaymentTimeoutSweeper).
+     *
+     * PG 호출부터 다시 시도하고 결과를 기록합니다. 실제 PG 연동에서는 orderId를 멱등 키로 보내 이중 승인을 막습니다.
+     * 그 사이 다른 곳에서 이미 결과가 기록되었으면 아무것도 발행하지 않고 false를 반환합니다.
+     */
+    public boolean redrivePayment(Payment payment) {
+        finishPayment(payment, null, null);
+        return payment.getStatus() != PaymentStatus.PENDING;
+    }
+
+    /**
+     * PG를 호출하고, 결제가 아직 PENDING이면 결과와 결과 이벤트(outbox)를 한 트랜잭션으로 커밋합니다.
+     * PG가 승인 / 거절로 응답했으면 true를 반환합니다. timers가 있으면 결과 트랜잭션 시간을 기록합니다.
+     *
+     * - 거절 / PG 오류 / 서킷 열림·벌크헤드 초과(바로 실패): FAILED로 기록하고 order-failed 발행 (보상)
+     * - 타임아웃: 승인 여부를 알 수 없으므로 PENDING으로 두고, 스위퍼가 같은 멱등 키(orderId)로 다시 확인
+     */
+    private boolean finishPayment(Payment payment, Long sagaStartedAt, SagaMetrics.StageTimers timers) {
+        Long orderId = payment.getOrderId();
+        Integer amount = payment.getAmount();
+        PaymentStatus result;
+        String failureReason = null;
+        boolean answered = false;
+        try {
+            paymentGatewayClient.approve(orderId, payment.getUserId(), amount);
+            result = PaymentStatus.COMPLETED;
+            answered = true;
+        } catch (PaymentDeclinedException e) {
+            result = PaymentStatus.FAILED;
+            failureReason = e.getMessage();
+            answered = true;
+        } catch (PaymentGatewayException e) {
+            if (e.getKind() == PaymentGatewayException.Kind.TIMEOUT) {
+                log.warn("PG 응답이 없어 결제를 PENDING으로 둡니다. orderId={}", orderId);
+                return false;
             }
+            result = PaymentStatus.FAILED;
+            failureReason = e.getMessage();
+        } catch (RuntimeException e) {
+            result = PaymentStatus.FAILED;
+            failureReason = e.getMessage();
+        }
 
-            payment.setStatus(PaymentStatus.COMPLETED);
-            paymentRepository.save(payment);
-            paymentProducer.sendPaymentCompletedEvent(orderId, payment.getPaymentId());
-        } catch (Exception e) {
-            payment.setStatus(PaymentStatus.FAILED);
-            paymentRepository.save(payment);
-            paymentProducer.sendOrderFailedEvent(orderId, e.getMessage());
+        PaymentStatus status = result;
+        String reason = failureReason;
+        long resultStart = System.nanoTime();
+        transactionTemplate.executeWithoutResult(tx -> {
+            // 스위퍼와 동시에 끝내려 한 경우 먼저 기록한 쪽만 이벤트를 발행한다
+            if (paymentRepository.finishPending(payment.getPaymentId(), status, LocalDateTime.now()) == 0) {
+                return;
+            }
+            payment.setStatus(status);
+            // 트랜잭션 인식 캐시이므로 커밋된 뒤에 PENDING 캐시가 무효화된다
+            cacheManager.getCache(PAYMENTS_CACHE).evict(orderId);
+            if (status == PaymentStatus.COMPLETED) {
+                paymentProducer.sendPaymentCompletedEvent(orderId, payment.getPaymentId(), amount, sagaStartedAt);
+            } else {
+                paymentProducer.sendOrderFailedEvent(orderId, reason, sagaStartedAt);
+            }
+        });
+        if (timers != null) {
+            timers.recordDb(resultStart);
         }
+        return answered;
     }
 
     /**
@@ -69,12 +166,61 @@ public class PaymentService {
      * TODO: 2. status를 FAILED로 변경
      * TODO: 3. DB에 저장
      * TODO: 4. 로깅 (실제로는 환불 API 호출)
+     *
+     * 주문 스위퍼가 PENDING 결제가 있는 주문을 실패시키거나, DLT에서 재고 예약 이벤트를 다시 보낸 경우에도
+     * 주문이 실패한 뒤에는 결제가 남지 않게 합니다.
+     * - 결제 기록 없음: 금액 0인 CANCELLED 기록을 남겨, 늦게 도착한 재고 예약 이벤트가 결제하지 않게 함
+     * - PENDING / COMPLETED: CANCELLING으로 바꾼 뒤 PG 승인을 취소하고 CANCELLED로 기록.
+     *   PENDING을 먼저 바꾸므로 진행 중인 결제 처리와 스위퍼의 finishPending은 0을 받아 결과를 발행하지 않음
+     * - CANCELLING: 앞선 시도에서 PG 취소가 실패한 결제이므로 PG 취소부터 다시 시도
+     * - FAILED / CANCELLED: 이미 결제되지 않았으므로 아무것도 하지 않음
+     *
+     * 상태로 중복 여부를 판단하므로 같은 이벤트가 다시 와도 안전합니다.
+     * PG 취소가 실패하면 예외를 던져 재시도 토픽에서 다시 시도합니다.
      */
     public void cancelPayment(Long orderId) {
-        Payment payment = paymentRepository.findByOrderId(orderId)
-                .orElseThrow(() -> new RuntimeException("결재 정보가 없습니다."));
+        Payment payment = transactionTemplate.execute(status -> startCancel(orderId));
+        if (payment == null) {
+            return;
+        }
 
-        payment.setStatus(PaymentStatus.FAILED);
+        paymentGatewayClient.cancel(orderId, payment.getAmount());
+        transactionTemplate.executeWithoutResult(tx -> {
+            if (paymentRepository.transition(payment.getPaymentId(), PaymentStatus.CANCELLING,
+                    PaymentStatus.CANCELLED, LocalDateTime.now()) == 1) {
+                cacheManager.getCache(PAYMENTS_CACHE).evict(orderId);
+                sagaMetrics.incrementCompensations();
+                log.info("주문 실패로 결제를 취소했습니다. orderId={}, amount={}", orderId, payment.getAmount());
+            }
+        });
+    }
+
+    /**
+     * 취소할 결제를 CANCELLING으로 바꿔 반환합니다. PG 취소가 필요 없으면 null을 반환합니다.
+     */
+    private Payment startCancel(Long orderId) {
+        Payment payment = paymentRepository.findByOrderId(orderId).orElse(null);
+        if (payment == null) {
+            paymentRepository.save(Payment.builder()
+                    .orderId(orderId)
+                    .amount(0)
+                    .status(PaymentStatus.CANCELLED)
+                    .build());
+            cacheManager.getCache(PAYMENTS_CACHE).evict(orderId);
+            return null;
+        }
+
+        PaymentStatus current = payment.getStatus();
+        if (current == PaymentStatus.PENDING || current == PaymentStatus.COMPLETED) {
+            if (paymentRepository.transition(payment.getPaymentId(), current, PaymentStatus.CANCELLING,
+                    LocalDateTime.now()) == 0) {
+                // 그 사이 결제 결과가 기록되었으므로 다시 조회해 판단하도록 재시도한다
+                throw new IllegalStateException("결제 상태가 바뀌어 취소를 다시 시도합니다. orderId=" + orderId);
+            }
+            cacheManager.getCache(PAYMENTS_CACHE).evict(orderId);
+            return payment;
+        }
+        return current == PaymentStatus.CANCELLING ? payment : null;
     }
 
     /**
@@ -82,6 +228,7 @@ public class PaymentService {
      * TODO: 1. PaymentRepository.findByOrderId로 조회
      * TODO: 2. Payment Entity → PaymentResponseDto 변환 후 반환
      */
+    @Cacheable(cacheNames = PAYMENTS_CACHE, key = "#orderId")
     public PaymentResponseDto getPaymentByOrderId(Long orderId) {
         Payment payment = paymentRepository.findByOrderId(orderId)
                 .orElseThrow(() -> new RuntimeException("결재 정보가 없습니다."));
@@ -0,0 +1,99 @@
+package com.example.payment.service;
+
+import com.example.payment.domain.Payment;
+import com.example.payment.metrics.SagaMetrics;
+import com.example.payment.repository.PaymentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * PG 호출 중 장애 등으로 오래 PENDING에 남은 결제를 찾아 다시 처리합니다.
+ *
+ * - (status, updated_at) 인덱스로 오래된 순서대로 batch-size건씩 FOR UPDATE SKIP LOCKED로 가져옴
+ * - 가져온 행의 updated_at을 현재 시각으로 갱신하고 커밋 (timeout 동안 유효한 임대):
+ *   여러 인스턴스가 동시에 실행되어도 같은 결제를 나눠 갖지 않으며, 처리 중 죽으면 timeout 후 다시 대상이 됨
+ * - 재처리는 가상 스레드에서 최대 max-concurrency건씩 동시에 실행
+ * - 결과는 PENDING인 경우에만 기록되므로, 늦게 끝난 원래 처리와 결과 이벤트가 중복되지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "payment.sweeper.enabled", havingValue = "true", matchIfMissing = true)
+public class PaymentTimeoutSweeper {
+
+    private final PaymentRepository paymentRepository;
+    private final PaymentService paymentService;
+    private final TransactionTemplate transactionTemplate;
+    private final SagaMetrics sagaMetrics;
+
+    @Value("${payment.sweeper.timeout:2m}")
+    private Duration timeout;
+
+    @Value("${payment.sweeper.batch-size:100}")
+    private int batchSize;
+
+    @Value("${payment.sweeper.max-concurrency:16}")
+    private int maxConcurrency;
+
+    @Scheduled(fixedDelayString = "${payment.sweeper.interval-ms:30000}",
+            initialDelayString = "${payment.sweeper.interval-ms:30000}")
+    public void sweep() {
+        try {
+            List<Payment> claimed;
+            do {
+                claimed = claimBatch();
+                redrive(claimed);
+            } while (claimed.size() == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("PENDING 결제 재처리에 실패했습니다. 다음 주기에 재시도합니다.", e);
+        }
+    }
+
+    private List<Payment> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            List<Payment> stale = paymentRepository.findStalePendingForUpdate(
+                    LocalDateTime.now().minus(timeout), batchSize);
+            LocalDateTime leasedAt = LocalDateTime.now();
+            stale.forEach(payment -> payment.setUpdatedAt(leasedAt));
+            return stale;
+        });
+    }
+
+    private void redrive(List<Payment> payments) {
+        if (payments.isEmpty()) {
+            return;
+        }
+        log.info("오래된 PENDING 결제 {}건을 다시 처리합니다.", payments.size());
+        Semaphore permits = new Semaphore(maxConcurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Payment payment : payments) {
+                permits.acquireUninterruptibly();
+                executor.execute(() -> {
+                    try {
+                        if (paymentService.redrivePayment(payment)) {
+                            sagaMetrics.incrementSweptPayments();
+                        }
+                    } catch (RuntimeException e) {
+                        sagaMetrics.incrementSweepErrors();
+                        log.warn("결제 재처리에 실패했습니다. paymentId={}, orderId={}",
+                                payment.getPaymentId(), payment.getOrderId(), e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.benchmark;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URL;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 벤치마크에서 서비스 애플리케이션을 한 JVM 안에 띄우기 위한 도우미입니다.
+ *
+ * 세 서비스 jar가 모두 application.yml을 가지고 있으므로, 각 서비스의 jar에 들어 있는
+ * application.yml을 명시적으로 지정하고 DB/서버 포트 등은 인자로 덮어씁니다.
+ */
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    static EmbeddedPostgres startPostgres(String... schemas) throws IOException, SQLException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String schema : schemas) {
+                statement.execute("CREATE SCHEMA IF NOT EXISTS " + schema);
+            }
+        }
+        return postgres;
+    }
+
+    static ConfigurableApplicationContext start(Class<?> application, String module, EmbeddedPostgres postgres,
+                                                String schema, String... overrides) throws IOException {
+        List<String> args = new ArrayList<>();
+        args.add("--spring.config.location=" + applicationYml(module));
+        args.add("--spring.datasource.url=jdbc:postgresql://localhost:" + postgres.getPort()
+                + "/postgres?currentSchema=" + schema);
+        args.add("--spring.datasource.password=postgres");
+        args.add("--spring.jpa.show-sql=false");
+        args.add("--spring.jpa.properties.hibernate.format_sql=false");
+        args.add("--server.port=0");
+        args.add("--logging.level.root=WARN");
+        Collections.addAll(args, overrides);
+
+        return new SpringApplicationBuilder(application).run(args.toArray(String[]::new));
+    }
+
+    /**
+     * spring.config.location을 지정하면 프로파일 파일을 찾지 않으므로, 프로파일 설정을 쓰려면
+     * 이 경로를 --spring.config.additional-location으로 넘깁니다.
+     */
+    static String profileYml(String module, String profile) throws IOException {
+        return configFile(module, "application-" + profile + ".yml");
+    }
+
+    private static String applicationYml(String module) throws IOException {
+        return configFile(module, "application.yml");
+    }
+
+    private static String configFile(String module, String name) throws IOException {
+        for (URL url : Collections.list(BenchmarkSupport.class.getClassLoader().getResources(name))) {
+            if (url.toString().contains(module)) {
+                return url.toString();
+            }
+        }
+        throw new IllegalStateException(module + "의 " + name + "을 찾을 수 없습니다.");
+    }
+}
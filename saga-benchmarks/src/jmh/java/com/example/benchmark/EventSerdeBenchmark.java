@@ -0,0 +1,105 @@
+package com.example.benchmark;
+
+import com.example.saga.event.InventoryReservedEvent;
+import com.example.saga.event.OrderCreatedEvent;
+import com.example.saga.event.OrderFailedEvent;
+import com.example.saga.event.PaymentCompletedEvent;
+import com.example.saga.event.kafka.SagaEventDeserializer;
+import com.example.saga.event.kafka.SagaEventSerializer;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 이벤트별로 이전 JSON 포맷(Spring Kafka JsonSerializer / JsonDeserializer, __TypeId__ 헤더 포함)과
+ * 바이너리 포맷(SagaEventSerializer / SagaEventDeserializer)의 직렬화 / 역직렬화 비용을 비교합니다.
+ * 메시지 크기(값 + 헤더 바이트)는 실행 시작 시 출력됩니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EventSerdeBenchmark {
+
+    private static final String TOPIC = "benchmark";
+    private static final Map<String, Supplier<Object>> SAMPLES = Map.of(
+            "OrderCreated", () -> OrderCreatedEvent.builder()
+                    .eventId(UUID.randomUUID().toString()).sagaStartedAt(System.currentTimeMillis())
+                    .occurredAt(System.currentTimeMillis()).orderId(1_234_567L).userId(100L).productId(1L).quantity(3)
+                    .build(),
+            "InventoryReserved", () -> InventoryReservedEvent.builder()
+                    .eventId(UUID.randomUUID().toString()).sagaStartedAt(System.currentTimeMillis())
+                    .occurredAt(System.currentTimeMillis()).orderId(1_234_567L).userId(100L).amount(30000)
+                    .build(),
+            "PaymentCompleted", () -> PaymentCompletedEvent.builder()
+                    .eventId(UUID.randomUUID().toString()).sagaStartedAt(System.currentTimeMillis())
+                    .occurredAt(System.currentTimeMillis()).orderId(1_234_567L).paymentId(7_654_321L).amount(30000)
+                    .build(),
+            "OrderFailed", () -> OrderFailedEvent.builder()
+                    .eventId(UUID.randomUUID().toString()).sagaStartedAt(System.currentTimeMillis())
+                    .occurredAt(System.currentTimeMillis()).orderId(1_234_567L).reason("재고가 부족합니다.")
+                    .build()
+    );
+
+    @Param({"OrderCreated", "InventoryReserved", "PaymentCompleted", "OrderFailed"})
+    private String event;
+
+    @Param({"json", "binary"})
+    private String format;
+
+    private Object sample;
+    private byte[] encoded;
+    private Headers encodedHeaders;
+    private Serializer<Object> serializer;
+    private Deserializer<Object> deserializer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sample = SAMPLES.get(event).get();
+        if ("json".equals(format)) {
+            serializer = new JsonSerializer<>();
+            deserializer = new JsonDeserializer<>();
+            deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "*"), false);
+        } else {
+            serializer = new SagaEventSerializer();
+            serializer.configure(Map.of(), false);
+            deserializer = new SagaEventDeserializer();
+        }
+
+        encodedHeaders = new RecordHeaders();
+        encoded = serializer.serialize(TOPIC, encodedHeaders, sample);
+        int headerBytes = 0;
+        for (var header : encodedHeaders) {
+            headerBytes += header.key().length() + header.value().length;
+        }
+        System.out.printf("%n[EventSerde] event=%s format=%s value=%d bytes, headers=%d bytes%n",
+                event, format, encoded.length, headerBytes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        serializer.close();
+        deserializer.close();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(TOPIC, new RecordHeaders(), sample);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return deserializer.deserialize(TOPIC, encodedHeaders, encoded);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.benchmark;
+
+import com.example.saga.event.kafka.AdaptiveFlowController;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * DB가 느려졌을 때 AdaptiveFlowController 유무에 따른 goodput(제한 시간 안에 커밋된 레코드 수 / 초)을 측정합니다.
+ *
+ * - 리스너: 벤치마크 스레드가 poll 루프 역할을 하며 레코드를 가상 스레드에 넘김 (결제 엔진 한도 384건)
+ *   컨트롤러가 컨테이너를 멈추면 poll이 빈 결과를 돌려주는 것처럼 기다림
+ * - DB: 커넥션 10개(Hikari 기본값), 쿼리 시간 = dbLatencyMs x (1 + 0.1 x (사용 중인 커넥션 - 1)) (잠금 경합)
+ * - 커넥션 대기 포함 500ms(트랜잭션 타임아웃)를 넘긴 레코드는 DB 작업을 하고도 롤백되어 실패 (재시도 토픽으로 이동)
+ *
+ * 컨트롤러가 없으면 레코드가 커넥션 대기열에 쌓여 대부분 타임아웃으로 버려지고,
+ * 있으면 지연이 target-latency(250ms) 근처에 머물도록 진행 중인 레코드를 줄입니다.
+ * 주 점수는 리스너가 넘긴 레코드 수 / 초이며, succeeded(goodput)와 failed는 보조 카운터로 출력됩니다.
+ * aimd에서 커넥션 대기가 target-latency를 넘는 지연(dbLatencyMs >= 10)이면 컨트롤러가 한 번도 멈추지 않았을 때 실패합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class FlowControlBenchmark {
+
+    private static final int MAX_IN_FLIGHT = 384;
+    private static final int DB_CONNECTIONS = 10;
+    private static final double LOCK_CONTENTION = 0.1;
+    private static final long DEADLINE_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    // 이 지연부터는 커넥션 대기만으로 target-latency를 넘으므로 멈춤이 있어야 한다
+    private static final long OVERLOAD_LATENCY_MS = 10;
+
+    @Param({"2", "10", "20"})
+    private long dbLatencyMs;
+
+    @Param({"off", "aimd"})
+    private String flowControl;
+
+    private final Queue<Boolean> completions = new ConcurrentLinkedQueue<>();
+    private final Semaphore connections = new Semaphore(DB_CONNECTIONS, true);
+    private final AtomicInteger activeConnections = new AtomicInteger();
+    private Semaphore engineLimit;
+    private ExecutorService executor;
+    private AdaptiveFlowController controller;
+
+    /**
+     * 벤치마크 스레드에서만 갱신하는 결과 카운터입니다 (JMH가 iteration마다 초당 값으로 출력).
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Goodput {
+        public long succeeded;
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            succeeded = 0;
+            failed = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engineLimit = new Semaphore(MAX_IN_FLIGHT);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        AdaptiveFlowController.Settings settings = new AdaptiveFlowController.Settings(
+                "aimd".equals(flowControl), 4, MAX_IN_FLIGHT, 250, 0.7);
+        // 멈춤 상태는 isPaused()로 poll 루프에서 확인한다
+        controller = new AdaptiveFlowController("benchmark", settings, new SimpleMeterRegistry(), () -> {
+        }, () -> {
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n[FlowControl] dbLatencyMs=%d flowControl=%s limit=%d inFlight=%d pauses=%d%n",
+                dbLatencyMs, flowControl, controller.limit(), controller.inFlight(), controller.pauseCount());
+        executor.close();
+        if ("aimd".equals(flowControl) && dbLatencyMs >= OVERLOAD_LATENCY_MS && controller.pauseCount() == 0) {
+            throw new IllegalStateException("DB 지연 " + dbLatencyMs + "ms에서 흐름 제어가 한 번도 멈추지 않았습니다.");
+        }
+    }
+
+    @Benchmark
+    public void deliver(Goodput goodput) {
+        Boolean committed;
+        while ((committed = completions.poll()) != null) {
+            if (committed) {
+                goodput.succeeded++;
+            } else {
+                goodput.failed++;
+            }
+        }
+
+        while (controller.isPaused()) {
+            LockSupport.parkNanos(POLL_NANOS);
+        }
+        engineLimit.acquireUninterruptibly();
+        long start = controller.acquire();
+        executor.execute(() -> {
+            boolean success = false;
+            try {
+                success = process(start);
+            } finally {
+                controller.release(start, success);
+                engineLimit.release();
+                completions.add(success);
+            }
+        });
+    }
+
+    private boolean process(long start) {
+        connections.acquireUninterruptibly();
+        try {
+            int active = activeConnections.incrementAndGet();
+            long queryMs = Math.round(dbLatencyMs * (1 + LOCK_CONTENTION * (active - 1)));
+            Thread.sleep(queryMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            activeConnections.decrementAndGet();
+            connections.release();
+        }
+        return System.nanoTime() - start <= DEADLINE_NANOS;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.benchmark;
+
+import com.example.inventory.InventoryApplication;
+import com.example.inventory.service.InventoryService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상품 1000개에 Zipf 분포(s=1.2, 상위 3개 상품이 주문의 약 40%)로 주문이 몰릴 때 재고 예약 처리량과 지연을 측정합니다.
+ *
+ * - hotKey: off(모든 상품을 차감 전략으로 처리) / on(hot 상품은 파티션별 몫에서 차감, HotProductAllotments)
+ * - strategy: cold 상품과 hot-key off일 때의 차감 전략
+ *
+ * 스레드마다 다른 파티션을 맡은 리스너처럼 스레드 번호를 파티션으로 넘깁니다.
+ * hot 상품 감지는 warmup 중에 이루어집니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(6)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class HotProductBenchmark {
+
+    private static final int PRODUCTS = 1_000;
+    private static final double ZIPF_EXPONENT = 1.2;
+
+    @Param({"off", "on"})
+    private String hotKey;
+
+    @Param({"pessimistic", "atomic"})
+    private String strategy;
+
+    private final AtomicLong orderIds = new AtomicLong();
+    private final double[] cumulative = new double[PRODUCTS];
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private InventoryService inventoryService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = BenchmarkSupport.startPostgres("inventory_db");
+        context = BenchmarkSupport.start(InventoryApplication.class, "inventory-service", postgres, "inventory_db",
+                "--inventory.reservation.strategy=" + strategy,
+                "--inventory.hot-key.enabled=" + "on".equals(hotKey),
+                "--inventory.hot-key.stripes=6",
+                "--spring.kafka.admin.auto-create=false",
+                "--spring.kafka.listener.auto-startup=false",
+                "--logging.level.org.apache.kafka=OFF",
+                "--outbox.relay.enabled=false");
+        List<Object[]> products = new ArrayList<>(PRODUCTS);
+        for (long productId = 1; productId <= PRODUCTS; productId++) {
+            products.add(new Object[]{productId, 1_000_000_000, 1000});
+        }
+        context.getBean(JdbcTemplate.class).batchUpdate(
+                "INSERT INTO inventory (product_id, quantity, price) VALUES (?, ?, ?)", products);
+        inventoryService = context.getBean(InventoryService.class);
+
+        double sum = 0;
+        for (int rank = 0; rank < PRODUCTS; rank++) {
+            sum += 1 / Math.pow(rank + 1, ZIPF_EXPONENT);
+            cumulative[rank] = sum;
+        }
+        for (int rank = 0; rank < PRODUCTS; rank++) {
+            cumulative[rank] /= sum;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public void reserveSkewed(ThreadParams threadParams) {
+        inventoryService.reserveInventory(
+                orderIds.incrementAndGet(), nextProductId(), 100L, 1, UUID.randomUUID().toString(),
+                System.currentTimeMillis(), threadParams.getThreadIndex());
+    }
+
+    private long nextProductId() {
+        int rank = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble());
+        return (rank >= 0 ? rank : -rank - 1) + 1L;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.benchmark;
+
+import com.example.inventory.InventoryApplication;
+import com.example.inventory.service.InventoryService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 여러 스레드가 하나의 인기 상품을 동시에 예약할 때 InventoryService.reserveInventory의 처리량과 지연을 측정합니다.
+ * 차감 전략(inventory.reservation.strategy)별로 비교합니다.
+ *
+ * - pessimistic: 행 잠금 후 차감 / atomic: 조건부 UPDATE ... RETURNING / optimistic: @Version 비교 후 재시도 / memory: 인메모리 원장
+ * - optimistic에서 재시도를 모두 실패한 예약(리스너에서는 재시도 토픽으로 이동)은 trial이 끝날 때 건수를 출력합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class InventoryReservationBenchmark {
+
+    private static final long HOT_PRODUCT_ID = 1L;
+
+    @Param({"pessimistic", "atomic", "optimistic", "memory"})
+    private String strategy;
+
+    private final AtomicLong orderIds = new AtomicLong();
+    private final LongAdder conflicts = new LongAdder();
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private InventoryService inventoryService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = BenchmarkSupport.startPostgres("inventory_db");
+        context = BenchmarkSupport.start(InventoryApplication.class, "inventory-service", postgres, "inventory_db",
+                "--inventory.reservation.strategy=" + strategy,
+                // memory 전략은 상품 단위 파티셔닝에서만 기동한다
+                "--saga.kafka.order-created-key=product-id",
+                // 차감 전략끼리 비교하기 위해 hot 상품 몫 나누기는 끈다 (HotProductBenchmark에서 비교)
+                "--inventory.hot-key.enabled=false",
+                "--spring.kafka.admin.auto-create=false",
+                "--spring.kafka.listener.auto-startup=false",
+                "--logging.level.org.apache.kafka=OFF",
+                "--outbox.relay.enabled=false");
+        context.getBean(JdbcTemplate.class).update(
+                "INSERT INTO inventory (product_id, quantity, price) VALUES (?, ?, ?)",
+                HOT_PRODUCT_ID, 1_000_000_000, 1000);
+        inventoryService = context.getBean(InventoryService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        System.out.printf("%n[InventoryReservation] strategy=%s conflicts=%d%n", strategy, conflicts.sum());
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public void reserveHotProduct() {
+        try {
+            inventoryService.reserveInventory(
+                    orderIds.incrementAndGet(), HOT_PRODUCT_ID, 100L, 1, UUID.randomUUID().toString(),
+                    System.currentTimeMillis(), null);
+        } catch (OptimisticLockingFailureException e) {
+            conflicts.increment();
+        }
+    }
+}
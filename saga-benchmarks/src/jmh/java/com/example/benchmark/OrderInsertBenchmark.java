@@ -0,0 +1,77 @@
+package com.example.benchmark;
+
+import com.example.order.OrderApplication;
+import com.example.order.domain.Order;
+import com.example.order.domain.OrderStatus;
+import com.example.order.repository.OrderRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 여러 건을 한 트랜잭션에서 저장할 때의 INSERT 처리량을 측정합니다.
+ *
+ * jdbcBatchSize=1, reWriteBatchedInserts=false는 행마다 왕복하던 변경 전(IDENTITY)과 같은 조건이고,
+ * jdbcBatchSize=50, reWriteBatchedInserts=true가 현재 설정입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(OrderInsertBenchmark.ORDERS_PER_TRANSACTION)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class OrderInsertBenchmark {
+
+    static final int ORDERS_PER_TRANSACTION = 500;
+
+    @Param({"1", "50"})
+    private int jdbcBatchSize;
+
+    @Param({"false", "true"})
+    private boolean reWriteBatchedInserts;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private OrderRepository orderRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = BenchmarkSupport.startPostgres("order_db");
+        context = BenchmarkSupport.start(OrderApplication.class, "order-service", postgres, "order_db",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize,
+                "--spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=" + reWriteBatchedInserts,
+                "--spring.kafka.admin.auto-create=false",
+                "--spring.kafka.listener.auto-startup=false",
+                "--logging.level.org.apache.kafka=OFF",
+                "--outbox.relay.enabled=false");
+        orderRepository = context.getBean(OrderRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public void insertOrders() {
+        List<Order> orders = new ArrayList<>(ORDERS_PER_TRANSACTION);
+        for (int i = 0; i < ORDERS_PER_TRANSACTION; i++) {
+            orders.add(Order.builder()
+                    .productId(1L)
+                    .quantity(1)
+                    .userId(100L)
+                    .status(OrderStatus.CREATED)
+                    .build());
+        }
+        transactionTemplate.executeWithoutResult(status -> orderRepository.saveAll(orders));
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.benchmark;
+
+import com.example.order.OrderApplication;
+import com.example.order.service.OrderService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 조회(OrderService.getOrder)의 처리량을 캐시 사용 여부(saga.cache.enabled)별로 비교합니다.
+ * 상태 폴링처럼 같은 주문들을 반복 조회하는 부하를 가정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class OrderLookupBenchmark {
+
+    private static final int ORDER_COUNT = 1000;
+
+    @Param({"true", "false"})
+    private boolean cacheEnabled;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private long firstOrderId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = BenchmarkSupport.startPostgres("order_db");
+        context = BenchmarkSupport.start(OrderApplication.class, "order-service", postgres, "order_db",
+                "--saga.cache.enabled=" + cacheEnabled,
+                "--spring.kafka.admin.auto-create=false",
+                "--spring.kafka.listener.auto-startup=false",
+                "--logging.level.org.apache.kafka=OFF",
+                "--outbox.relay.enabled=false");
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            jdbcTemplate.update("INSERT INTO orders (product_id, quantity, user_id, status) VALUES (?, ?, ?, ?)",
+                    1L, 1, 100L, "CREATED");
+        }
+        firstOrderId = jdbcTemplate.queryForObject("SELECT min(order_id) FROM orders", Long.class);
+        orderService = context.getBean(OrderService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public Object getOrder() {
+        return orderService.getOrder(firstOrderId + ThreadLocalRandom.current().nextInt(ORDER_COUNT));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.benchmark;
+
+import com.example.inventory.InventoryApplication;
+import com.example.saga.event.InventoryReservedEvent;
+import com.example.saga.event.codec.SagaEventCodec;
+import com.example.saga.event.outbox.OutboxRelay;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * inventory-service의 OutboxRelay가 outbox 행 BATCH건을 임베디드 Kafka로 전송하고 삭제하는 처리량을 측정합니다.
+ * 일반 전송(transactional=false)과 Kafka 트랜잭션 전송(transactional=true)의 비용을 비교합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(OutboxRelayBenchmark.BATCH)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class OutboxRelayBenchmark {
+
+    static final int BATCH = 500;
+    private static final String INSERT_OUTBOX = "INSERT INTO outbox_event (topic, message_key, event_type, body, created_at) "
+            + "VALUES ('inventory-reserved', ?, 'InventoryReservedEvent', ?, ?)";
+
+    @Param({"false", "true"})
+    private boolean transactional;
+
+    private EmbeddedKafkaKraftBroker kafka;
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private OutboxRelay outboxRelay;
+    private long orderId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        kafka = new EmbeddedKafkaKraftBroker(1, 6, "inventory-reserved");
+        kafka.afterPropertiesSet();
+        postgres = BenchmarkSupport.startPostgres("inventory_db");
+        context = BenchmarkSupport.start(InventoryApplication.class, "inventory-service", postgres, "inventory_db",
+                "--spring.kafka.bootstrap-servers=" + kafka.getBrokersAsString(),
+                "--spring.kafka.listener.auto-startup=false",
+                "--logging.level.org.apache.kafka=OFF",
+                "--outbox.relay.transactional=" + transactional,
+                "--outbox.relay.batch-size=" + BATCH,
+                // 스케줄러는 시작 직후 한 번만 돌고, 이후에는 벤치마크가 직접 relay()를 호출한다
+                "--outbox.relay.poll-interval-ms=3600000");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        outboxRelay = context.getBean(OutboxRelay.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        postgres.close();
+        kafka.destroy();
+    }
+
+    @Setup(Level.Invocation)
+    public void fillOutbox() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> rows = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            long id = ++orderId;
+            byte[] body = SagaEventCodec.encode(InventoryReservedEvent.builder()
+                    .eventId(UUID.randomUUID().toString())
+                    .sagaStartedAt(now.getTime())
+                    .occurredAt(now.getTime())
+                    .orderId(id).userId(100L).amount(1000)
+                    .build());
+            rows.add(new Object[]{String.valueOf(id), body, now});
+        }
+        jdbcTemplate.batchUpdate(INSERT_OUTBOX, rows);
+    }
+
+    @Benchmark
+    public void relayBatch() {
+        outboxRelay.relay();
+    }
+}
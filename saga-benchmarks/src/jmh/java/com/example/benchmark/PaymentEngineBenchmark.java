@@ -0,0 +1,70 @@
+package com.example.benchmark;
+
+import com.example.payment.service.PaymentExecutionEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * PaymentExecutionEngine의 초당 결제 처리량을 가짜 PG 지연별로 측정합니다.
+ * 리스너 스레드에서 직접 대기하던 이전 구조는 파티션당 1000 / pgLatencyMs 건/초가 상한입니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class PaymentEngineBenchmark {
+
+    private static final int PAYMENTS_PER_INVOCATION = 1_000;
+
+    @Param({"0", "10", "50", "200"})
+    private long pgLatencyMs;
+
+    @Param({"6"})
+    private int partitions;
+
+    @Param({"64"})
+    private int maxInFlightPerPartition;
+
+    private final AtomicLong orderIds = new AtomicLong();
+    private PaymentExecutionEngine engine;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        engine = new PaymentExecutionEngine(maxInFlightPerPartition);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        engine.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAYMENTS_PER_INVOCATION)
+    public void settlePayments() throws InterruptedException {
+        CountDownLatch settled = new CountDownLatch(PAYMENTS_PER_INVOCATION);
+        for (int i = 0; i < PAYMENTS_PER_INVOCATION; i++) {
+            long orderId = orderIds.incrementAndGet();
+            engine.submit((int) (orderId % partitions), orderId, this::callFakeGateway,
+                    (answered, failure) -> settled.countDown());
+        }
+        settled.await();
+    }
+
+    private boolean callFakeGateway() {
+        if (pgLatencyMs == 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pgLatencyMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
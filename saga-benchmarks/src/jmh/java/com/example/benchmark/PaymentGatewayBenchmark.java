@@ -0,0 +1,83 @@
+package com.example.benchmark;
+
+import com.example.payment.gateway.FakePaymentGateway;
+import com.example.payment.gateway.PaymentCircuitBreaker;
+import com.example.payment.gateway.PaymentGatewayClient;
+import com.example.payment.gateway.PaymentGatewayException;
+import com.example.payment.metrics.SagaMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 가짜 PG가 느려지거나 오류를 낼 때 결제 한 건의 PG 구간 지연(p50/p99/p999)을 보호 장치별로 측정합니다.
+ *
+ * - gateway: healthy(중앙값 20ms), slow-tail(10%가 1초 더 지연), failing(slow-tail + 50% 오류)
+ * - protection: none(타임아웃만), breaker(벌크헤드 24 + 서킷 브레이커), hedged(breaker + 100ms 후 헤지 요청)
+ *
+ * 벌크헤드 / 서킷이 바로 거절한 호출도 샘플에 포함됩니다 (결제 실패로 곧바로 보상이 시작되는 구간).
+ * 결과 종류별 건수는 trial이 끝날 때 출력합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(32)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class PaymentGatewayBenchmark {
+
+    @Param({"healthy", "slow-tail", "failing"})
+    private String gateway;
+
+    @Param({"none", "breaker", "hedged"})
+    private String protection;
+
+    private final AtomicLong orderIds = new AtomicLong();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private PaymentGatewayClient client;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SagaMetrics metrics = new SagaMetrics(new SimpleMeterRegistry());
+        FakePaymentGateway fake = switch (gateway) {
+            case "healthy" -> new FakePaymentGateway(20, 0.3, 0, 0, 0, Integer.MAX_VALUE);
+            case "slow-tail" -> new FakePaymentGateway(20, 0.3, 0.1, 1000, 0, Integer.MAX_VALUE);
+            default -> new FakePaymentGateway(20, 0.3, 0.1, 1000, 0.5, Integer.MAX_VALUE);
+        };
+        boolean guarded = !"none".equals(protection);
+        PaymentCircuitBreaker breaker = new PaymentCircuitBreaker(metrics, guarded, 50, 50, 20, 1000, 500);
+        client = new PaymentGatewayClient(fake, breaker, metrics,
+                2000,
+                guarded ? 24 : 1024,
+                50,
+                "hedged".equals(protection) ? 100 : 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.shutdown();
+        Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> counts.put(outcome, count.sum()));
+        System.out.printf("%n[PaymentGateway] gateway=%s protection=%s outcomes=%s%n", gateway, protection, counts);
+    }
+
+    @Benchmark
+    public String approve() {
+        String outcome;
+        try {
+            client.approve(orderIds.incrementAndGet(), 100L, 10_000);
+            outcome = "SUCCESS";
+        } catch (PaymentGatewayException e) {
+            outcome = e.getKind().name();
+        }
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        return outcome;
+    }
+}
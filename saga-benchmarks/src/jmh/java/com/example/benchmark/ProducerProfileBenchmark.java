@@ -0,0 +1,123 @@
+package com.example.benchmark;
+
+import com.example.saga.event.OrderCreatedEvent;
+import com.example.saga.event.codec.SagaEventCodec;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.EnumerablePropertySource;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * saga-kafka-producer.yml의 프로파일별 프로듀서 설정으로 임베디드 Kafka에 전송합니다.
+ *
+ * - pipelined: outbox 릴레이처럼 한 번에 BATCH건을 보내고 모든 ack를 기다림 (ops/s = 초당 이벤트 수)
+ * - single: 레코드 하나를 보내고 ack까지 기다림 (전송 지연, linger가 그대로 드러남)
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ProducerProfileBenchmark {
+
+    private static final int BATCH = 500;
+    private static final String TOPIC = "order-created";
+    private static final String PROPERTIES_PREFIX = "spring.kafka.producer.properties.";
+    private static final String PROFILE_KEY = "spring.config.activate.on-profile";
+
+    @Param({"default", "throughput", "low-latency"})
+    private String profile;
+
+    private EmbeddedKafkaKraftBroker kafka;
+    private KafkaProducer<String, byte[]> producer;
+    private byte[][] values;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        kafka = new EmbeddedKafkaKraftBroker(1, 6, TOPIC);
+        kafka.afterPropertiesSet();
+
+        Map<String, Object> config = producerProperties(profile);
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafka.getBrokersAsString());
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        producer = new KafkaProducer<>(config);
+
+        values = new byte[BATCH][];
+        for (int i = 0; i < BATCH; i++) {
+            values[i] = SagaEventCodec.encode(OrderCreatedEvent.builder()
+                    .eventId(UUID.randomUUID().toString())
+                    .sagaStartedAt(System.currentTimeMillis())
+                    .occurredAt(System.currentTimeMillis())
+                    .orderId((long) i).userId(100L).productId(1L).quantity(1)
+                    .build());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        producer.close();
+        kafka.destroy();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH)
+    public long pipelined() throws Exception {
+        List<Future<RecordMetadata>> futures = new ArrayList<>(BATCH);
+        for (byte[] value : values) {
+            futures.add(producer.send(new ProducerRecord<>(TOPIC, Long.toString(sequence++), value)));
+        }
+        long offsets = 0;
+        for (Future<RecordMetadata> future : futures) {
+            offsets += future.get().offset();
+        }
+        return offsets;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public RecordMetadata single() throws Exception {
+        return producer.send(new ProducerRecord<>(TOPIC, Long.toString(sequence++), values[0])).get();
+    }
+
+    /**
+     * 기본 문서의 프로듀서 설정에 프로파일 문서의 설정을 덮어씁니다.
+     */
+    private static Map<String, Object> producerProperties(String profile) throws IOException {
+        List<PropertySource<?>> documents = new YamlPropertySourceLoader()
+                .load("saga-kafka-producer", new ClassPathResource("saga-kafka-producer.yml"));
+        Map<String, Object> config = new HashMap<>();
+        for (PropertySource<?> document : documents) {
+            Object activateOn = document.getProperty(PROFILE_KEY);
+            if (activateOn != null && !profile.equals(activateOn.toString())) {
+                continue;
+            }
+            for (String name : ((EnumerablePropertySource<?>) document).getPropertyNames()) {
+                if (name.startsWith(PROPERTIES_PREFIX)) {
+                    config.put(name.substring(PROPERTIES_PREFIX.length()), document.getProperty(name).toString());
+                }
+            }
+        }
+        return config;
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.benchmark;
+
+import com.example.inventory.InventoryApplication;
+import com.example.order.OrderApplication;
+import com.example.order.domain.Order;
+import com.example.order.domain.OrderStatus;
+import com.example.order.dto.OrderRequestDto;
+import com.example.order.repository.OrderRepository;
+import com.example.order.service.OrderService;
+import com.example.payment.PaymentApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 임베디드 Kafka 위에서 세 서비스를 모두 띄우고, 주문 생성부터 COMPLETED/FAILED까지의 지연을 측정합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+public class SagaEndToEndBenchmark {
+
+    private static final long PRODUCT_ID = 1L;
+    private static final String[] TOPICS = {"order-created", "inventory-reserved", "payment-completed", "order-failed"};
+
+    @Param({"0", "50"})
+    private long pgLatencyMs;
+
+    private EmbeddedKafkaKraftBroker kafka;
+    private EmbeddedPostgres postgres;
+    private List<ConfigurableApplicationContext> contexts;
+    private OrderService orderService;
+    private OrderRepository orderRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        kafka = new EmbeddedKafkaKraftBroker(1, 6, TOPICS);
+        kafka.afterPropertiesSet();
+        postgres = BenchmarkSupport.startPostgres("order_db", "inventory_db", "payment_db");
+
+        String[] common = {
+                "--spring.kafka.bootstrap-servers=" + kafka.getBrokersAsString(),
+                "--spring.kafka.consumer.auto-offset-reset=earliest",
+                "--outbox.relay.poll-interval-ms=5"
+        };
+        ConfigurableApplicationContext inventory = BenchmarkSupport.start(
+                InventoryApplication.class, "inventory-service", postgres, "inventory_db", common);
+        inventory.getBean(JdbcTemplate.class).update(
+                "INSERT INTO inventory (product_id, quantity, price) VALUES (?, ?, ?)",
+                PRODUCT_ID, 1_000_000_000, 100);
+
+        ConfigurableApplicationContext payment = BenchmarkSupport.start(
+                PaymentApplication.class, "payment-service", postgres, "payment_db",
+                append(common, "--payment.pg.latency-ms=" + pgLatencyMs));
+        ConfigurableApplicationContext order = BenchmarkSupport.start(
+                OrderApplication.class, "order-service", postgres, "order_db", common);
+
+        contexts = List.of(order, payment, inventory);
+        orderService = order.getBean(OrderService.class);
+        orderRepository = order.getBean(OrderRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        contexts.forEach(ConfigurableApplicationContext::close);
+        postgres.close();
+        kafka.destroy();
+    }
+
+    @Benchmark
+    public OrderStatus orderToCompletion() throws InterruptedException {
+        Long orderId = orderService.createOrder(new OrderRequestDto(PRODUCT_ID, 1, 100L)).getOrderId();
+        while (true) {
+            OrderStatus status = orderRepository.findById(orderId).map(Order::getStatus).orElse(null);
+            if (status == OrderStatus.COMPLETED || status == OrderStatus.FAILED) {
+                return status;
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private static String[] append(String[] args, String... more) {
+        String[] result = new String[args.length + more.length];
+        System.arraycopy(args, 0, result, 0, args.length);
+        System.arraycopy(more, 0, result, args.length, more.length);
+        return result;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.benchmark;
+
+import com.example.order.OrderApplication;
+import com.example.order.domain.Order;
+import com.example.order.repository.OrderRepository;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 테이블이 커져도 StaleOrderSweeper의 조회(멈춘 주문 200건 잠금)가 가벼운지 측정합니다.
+ * 주문의 0.1%만 CREATED에 멈춰 있고 나머지는 COMPLETED인 상태에서, 조회 후 롤백하여 매번 같은 조건으로 실행합니다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+public class StaleOrderScanBenchmark {
+
+    private static final int BATCH = 200;
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private OrderRepository orderRepository;
+    private TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = BenchmarkSupport.startPostgres("order_db");
+        context = BenchmarkSupport.start(OrderApplication.class, "order-service", postgres, "order_db",
+                "--spring.kafka.admin.auto-create=false",
+                "--spring.kafka.listener.auto-startup=false",
+                "--logging.level.org.apache.kafka=OFF",
+                "--outbox.relay.enabled=false",
+                "--order.sweeper.enabled=false");
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO orders (order_id, product_id, quantity, user_id, status, updated_at) "
+                + "SELECT i, 1, 1, 100, CASE WHEN i % 1000 = 0 THEN 'CREATED' ELSE 'COMPLETED' END, "
+                + "now() - interval '1 day' + i * interval '1 millisecond' FROM generate_series(1, ?) AS i", rows);
+        jdbcTemplate.execute("ANALYZE orders");
+        orderRepository = context.getBean(OrderRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public List<Order> findStaleOrders() {
+        return transactionTemplate.execute(status -> {
+            List<Order> stale = orderRepository.findStaleForUpdate(LocalDateTime.now().minusMinutes(10), BATCH);
+            status.setRollbackOnly();
+            return stale;
+        });
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.benchmark;
+
+import com.example.order.OrderApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 동시 클라이언트 clients개가 주문 조회 API(GET /orders/{id})를 한꺼번에 호출할 때의 처리량과 메모리를
+ * 플랫폼 스레드(Tomcat 스레드 풀) / 가상 스레드 프로파일(application-virtual.yml)별로 비교합니다.
+ *
+ * - 두 모드 모두 Tomcat 연결 한도와 커넥션 풀 크기를 같게 두고, 캐시를 끄고 매 요청 DB를 조회함
+ * - virtual은 동시 요청 제한(saga.http.concurrency-limit)이 켜져 있으므로 넘친 요청은 rejected(503)로 셈
+ * - 반복(iteration)마다 힙 사용량, 최대 스레드 수, RSS를 로그로 출력
+ *
+ * 클라이언트 연결 수만큼 파일 디스크립터가 필요하므로 clients=10000은 ulimit -n 을 충분히 올린 뒤 실행하세요.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(1)
+@Fork(1)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 20)
+public class VirtualThreadBenchmark {
+
+    private static final int ORDER_COUNT = 1000;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    @Param({"1000", "10000"})
+    private int clients;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient httpClient;
+    private String baseUrl;
+    private long firstOrderId;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Responses {
+        public long completed;
+        public long rejected;
+        public long failed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            completed = 0;
+            rejected = 0;
+            failed = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = BenchmarkSupport.startPostgres("order_db");
+        List<String> overrides = new ArrayList<>(List.of(
+                "--saga.cache.enabled=false",
+                "--server.tomcat.max-connections=20000",
+                "--server.tomcat.accept-count=1000",
+                "--spring.datasource.hikari.maximum-pool-size=20",
+                "--spring.kafka.admin.auto-create=false",
+                "--spring.kafka.listener.auto-startup=false",
+                "--logging.level.org.apache.kafka=OFF",
+                "--outbox.relay.enabled=false"));
+        if ("virtual".equals(threads)) {
+            overrides.add("--spring.config.additional-location="
+                    + BenchmarkSupport.profileYml("order-service", "virtual"));
+        }
+        context = BenchmarkSupport.start(OrderApplication.class, "order-service", postgres, "order_db",
+                overrides.toArray(String[]::new));
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Object[]> orders = new ArrayList<>(ORDER_COUNT);
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            orders.add(new Object[]{1L, 1, 100L, "CREATED"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (product_id, quantity, user_id, status) VALUES (?, ?, ?, ?)",
+                orders);
+        firstOrderId = jdbcTemplate.queryForObject("SELECT min(order_id) FROM orders", Long.class);
+
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/orders/";
+        // 클라이언트 쪽 스레드가 서버 쪽 스레드 수 측정에 섞이지 않도록 가상 스레드로 콜백을 처리한다
+        clientExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(clientExecutor)
+                .build();
+    }
+
+    @TearDown(Level.Iteration)
+    public void printFootprint() throws IOException {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        System.out.printf("%n[threads=%s, clients=%d] heapUsed=%dMB, peakThreads=%d, %s%n",
+                threads, clients, heap.getUsed() / (1024 * 1024), threadMXBean.getPeakThreadCount(), residentSetSize());
+        threadMXBean.resetPeakThreadCount();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        httpClient.close();
+        clientExecutor.close();
+        context.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public void concurrentLookups(Responses responses) {
+        List<CompletableFuture<Integer>> pending = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            HttpRequest request = HttpRequest.newBuilder(
+                            URI.create(baseUrl + (firstOrderId + ThreadLocalRandom.current().nextInt(ORDER_COUNT))))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET()
+                    .build();
+            pending.add(httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenApply(HttpResponse::statusCode)
+                    .exceptionally(e -> -1));
+        }
+        for (CompletableFuture<Integer> response : pending) {
+            int status = response.join();
+            if (status == 200) {
+                responses.completed++;
+            } else if (status == 503) {
+                responses.rejected++;
+            } else {
+                responses.failed++;
+            }
+        }
+    }
+
+    private static String residentSetSize() throws IOException {
+        Path status = Path.of("/proc/self/status");
+        if (!Files.exists(status)) {
+            return "VmRSS=n/a";
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> line.replaceAll("\\s+", " "))
+                .findFirst()
+                .orElse("VmRSS=n/a");
+    }
+}
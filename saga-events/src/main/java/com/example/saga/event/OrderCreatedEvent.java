@@ -0,0 +1,23 @@
+package com.example.saga.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * order-created: 주문 서비스 → 재고 서비스
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderCreatedEvent {
+    private String eventId;
+    private Long sagaStartedAt;
+    private Long occurredAt;
+    private Long orderId;
+    private Long userId;
+    private Long productId;
+    private Integer quantity;
+}
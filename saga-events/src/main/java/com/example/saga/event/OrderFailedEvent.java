@@ -0,0 +1,21 @@
+package com.example.saga.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * order-failed: 주문 / 재고 / 결제 서비스 → 주문 서비스, 재고 서비스, 결제 서비스 (보상 트랜잭션)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderFailedEvent {
+    private String eventId;
+    private Long sagaStartedAt;
+    private Long occurredAt;
+    private Long orderId;
+    private String reason;
+}
@@ -0,0 +1,22 @@
+package com.example.saga.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * payment-completed: 결제 서비스 → 주문 서비스
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentCompletedEvent {
+    private String eventId;
+    private Long sagaStartedAt;
+    private Long occurredAt;
+    private Long orderId;
+    private Long paymentId;
+    private Integer amount;
+}
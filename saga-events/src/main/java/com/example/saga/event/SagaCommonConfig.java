@@ -0,0 +1,25 @@
+package com.example.saga.event;
+
+import com.example.saga.event.cache.SagaCacheConfig;
+import com.example.saga.event.idempotency.ProcessedEventStore;
+import com.example.saga.event.kafka.KafkaRetryConfig;
+import com.example.saga.event.outbox.OutboxRelay;
+import com.example.saga.event.web.DltReplayController;
+import com.example.saga.event.web.HttpConcurrencyConfig;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * 세 서비스가 같이 쓰는 빈입니다. 각 서비스의 Application 클래스에서 @Import합니다.
+ *
+ * 테이블 접근은 서비스마다 다르므로 각 서비스가 다음 인터페이스를 구현한 리포지토리를 둡니다.
+ * - ProcessedEventLog (processed_event): ProcessedEventStore
+ * - OutboxRecordSource (outbox_event): OutboxRelay
+ * 지표는 서비스의 SagaMetrics(AbstractSagaMetrics 상속)를 사용합니다.
+ * 재시도 / DLT 토픽 이름은 saga.retry.service로 서비스마다 다르게 정합니다.
+ */
+@Configuration
+@Import({ProcessedEventStore.class, OutboxRelay.class, SagaCacheConfig.class, HttpConcurrencyConfig.class,
+        KafkaRetryConfig.class, DltReplayController.class})
+public class SagaCommonConfig {
+}
@@ -0,0 +1,43 @@
+package com.example.saga.event.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * 조회 API 앞단의 로컬 캐시 설정입니다.
+ *
+ * - 크기(maximum-size)와 TTL(ttl)로 제한되는 Caffeine 캐시
+ * - 상태를 바꾸는 트랜잭션이 커밋된 뒤에 무효화되도록 TransactionAwareCacheManagerProxy로 감쌈
+ *   (커밋 전에 무효화하면 동시 조회가 이전 값을 다시 캐시할 수 있음)
+ * - 다른 인스턴스에서 바뀐 상태는 TTL 안에서만 늦게 반영됨
+ * - 적중률 / 제거 지표는 actuator가 cache.gets, cache.evictions로 노출 (recordStats)
+ * - 캐시는 처음 사용할 때 만들어지며, 이름은 각 서비스가 정함 (orders, inventory, payments)
+ */
+@Configuration
+@EnableCaching
+public class SagaCacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(@Value("${saga.cache.enabled:true}") boolean enabled,
+                                     @Value("${saga.cache.maximum-size:10000}") long maximumSize,
+                                     @Value("${saga.cache.ttl:30s}") Duration ttl) {
+        if (!enabled) {
+            return new NoOpCacheManager();
+        }
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
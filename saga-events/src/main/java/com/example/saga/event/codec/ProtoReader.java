@@ -0,0 +1,89 @@
+package com.example.saga.event.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * protobuf 와이어 포맷 읽기 도우미입니다. 모르는 필드는 skip()으로 건너뜁니다.
+ */
+final class ProtoReader {
+
+    private final byte[] buffer;
+    private int position;
+
+    ProtoReader(byte[] buffer, int offset) {
+        this.buffer = buffer;
+        this.position = offset;
+    }
+
+    boolean hasRemaining() {
+        return position < buffer.length;
+    }
+
+    int readTag() {
+        return (int) readVarint();
+    }
+
+    long readInt64(int tag) {
+        expect(tag, ProtoWriter.WIRE_VARINT);
+        return readVarint();
+    }
+
+    int readInt32(int tag) {
+        expect(tag, ProtoWriter.WIRE_VARINT);
+        return (int) readVarint();
+    }
+
+    String readString(int tag) {
+        expect(tag, ProtoWriter.WIRE_LENGTH_DELIMITED);
+        int length = readLength();
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    void skip(int tag) {
+        switch (tag & 0x7) {
+            case 0 -> readVarint();
+            case 1 -> advance(8);
+            case 2 -> advance(readLength());
+            case 5 -> advance(4);
+            default -> throw new IllegalArgumentException("지원하지 않는 wire type입니다: " + (tag & 0x7));
+        }
+    }
+
+    private long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position >= buffer.length) {
+                throw new IllegalArgumentException("메시지가 잘렸습니다.");
+            }
+            byte b = buffer[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("varint가 너무 깁니다.");
+    }
+
+    private int readLength() {
+        long length = readVarint();
+        if (length < 0 || length > buffer.length - position) {
+            throw new IllegalArgumentException("메시지가 잘렸습니다.");
+        }
+        return (int) length;
+    }
+
+    private void advance(int length) {
+        if (length > buffer.length - position) {
+            throw new IllegalArgumentException("메시지가 잘렸습니다.");
+        }
+        position += length;
+    }
+
+    private static void expect(int tag, int wireType) {
+        if ((tag & 0x7) != wireType) {
+            throw new IllegalArgumentException("필드 " + (tag >>> 3) + "의 wire type이 다릅니다: " + (tag & 0x7));
+        }
+    }
+}
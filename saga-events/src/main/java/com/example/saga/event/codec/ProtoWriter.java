@@ -0,0 +1,138 @@
+package com.example.saga.event.codec;
+
+/**
+ * protobuf 와이어 포맷 쓰기 도우미입니다.
+ * 크기를 먼저 계산해 정확한 크기의 배열 하나에 직접 쓰므로, 메시지당 할당은 결과 배열 하나뿐입니다.
+ * null 필드는 쓰지 않습니다 (proto3 optional).
+ */
+final class ProtoWriter {
+
+    static final int WIRE_VARINT = 0;
+    static final int WIRE_LENGTH_DELIMITED = 2;
+
+    private final byte[] buffer;
+    private int position;
+
+    ProtoWriter(int size) {
+        this.buffer = new byte[size];
+    }
+
+    byte[] buffer() {
+        if (position != buffer.length) {
+            throw new IllegalStateException("계산한 크기와 쓴 크기가 다릅니다: " + buffer.length + " != " + position);
+        }
+        return buffer;
+    }
+
+    void writeByte(int value) {
+        buffer[position++] = (byte) value;
+    }
+
+    void write(int field, Long value) {
+        if (value != null) {
+            writeVarint(tag(field, WIRE_VARINT));
+            writeVarint(value);
+        }
+    }
+
+    void write(int field, Integer value) {
+        if (value != null) {
+            writeVarint(tag(field, WIRE_VARINT));
+            writeVarint(value.longValue());
+        }
+    }
+
+    void write(int field, String value) {
+        if (value != null) {
+            writeVarint(tag(field, WIRE_LENGTH_DELIMITED));
+            writeVarint(utf8Length(value));
+            writeUtf8(value);
+        }
+    }
+
+    static int sizeOf(int field, Long value) {
+        return value == null ? 0 : varintSize(tag(field, WIRE_VARINT)) + varintSize(value);
+    }
+
+    static int sizeOf(int field, Integer value) {
+        return value == null ? 0 : varintSize(tag(field, WIRE_VARINT)) + varintSize(value.longValue());
+    }
+
+    static int sizeOf(int field, String value) {
+        if (value == null) {
+            return 0;
+        }
+        int length = utf8Length(value);
+        return varintSize(tag(field, WIRE_LENGTH_DELIMITED)) + varintSize(length) + length;
+    }
+
+    static int tag(int field, int wireType) {
+        return field << 3 | wireType;
+    }
+
+    static int varintSize(long value) {
+        // 7비트당 1바이트, 음수는 10바이트
+        return (64 - Long.numberOfLeadingZeros(value | 1) + 6) / 7;
+    }
+
+    /**
+     * String.getBytes(UTF_8)와 같은 규칙(짝이 없는 서로게이트는 '?')으로 길이를 계산합니다.
+     */
+    static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    length += 4;
+                    i++;
+                } else {
+                    length += 1;
+                }
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private void writeVarint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeUtf8(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer[position++] = (byte) c;
+            } else if (c < 0x800) {
+                buffer[position++] = (byte) (0xC0 | c >> 6);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                        && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+                    buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+                } else {
+                    buffer[position++] = '?';
+                }
+            } else {
+                buffer[position++] = (byte) (0xE0 | c >> 12);
+                buffer[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                buffer[position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+    }
+}
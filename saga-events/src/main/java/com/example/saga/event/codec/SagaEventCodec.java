@@ -0,0 +1,181 @@
+package com.example.saga.event.codec;
+
+import com.example.saga.event.InventoryReservedEvent;
+import com.example.saga.event.OrderCreatedEvent;
+import com.example.saga.event.OrderFailedEvent;
+import com.example.saga.event.PaymentCompletedEvent;
+
+import static com.example.saga.event.codec.ProtoWriter.sizeOf;
+
+/**
+ * 사가 이벤트를 saga-events.proto에 정의된 바이너리 포맷으로 변환합니다.
+ *
+ * 리플렉션 없이 필드를 직접 읽고 쓰며, 인코딩 시에는 결과 배열 하나만 할당합니다.
+ * 잘못된 메시지는 IllegalArgumentException으로 알립니다.
+ */
+public final class SagaEventCodec {
+
+    public static final byte MAGIC = (byte) 0xB1;
+    public static final byte VERSION = 1;
+    private static final int HEADER_SIZE = 3;
+
+    private SagaEventCodec() {
+    }
+
+    /**
+     * 바이너리 포맷(매직 바이트로 시작)인지 확인합니다. 아니면 이전 JSON 메시지입니다.
+     */
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length >= HEADER_SIZE && data[0] == MAGIC;
+    }
+
+    public static byte[] encode(Object event) {
+        return switch (event) {
+            case OrderCreatedEvent e -> {
+                ProtoWriter writer = header(SagaEventType.ORDER_CREATED, commonSize(e.getEventId(),
+                        e.getSagaStartedAt(), e.getOccurredAt())
+                        + sizeOf(4, e.getOrderId()) + sizeOf(5, e.getUserId())
+                        + sizeOf(6, e.getProductId()) + sizeOf(7, e.getQuantity()));
+                writeCommon(writer, e.getEventId(), e.getSagaStartedAt(), e.getOccurredAt());
+                writer.write(4, e.getOrderId());
+                writer.write(5, e.getUserId());
+                writer.write(6, e.getProductId());
+                writer.write(7, e.getQuantity());
+                yield writer.buffer();
+            }
+            case InventoryReservedEvent e -> {
+                ProtoWriter writer = header(SagaEventType.INVENTORY_RESERVED, commonSize(e.getEventId(),
+                        e.getSagaStartedAt(), e.getOccurredAt())
+                        + sizeOf(4, e.getOrderId()) + sizeOf(5, e.getUserId()) + sizeOf(6, e.getAmount()));
+                writeCommon(writer, e.getEventId(), e.getSagaStartedAt(), e.getOccurredAt());
+                writer.write(4, e.getOrderId());
+                writer.write(5, e.getUserId());
+                writer.write(6, e.getAmount());
+                yield writer.buffer();
+            }
+            case PaymentCompletedEvent e -> {
+                ProtoWriter writer = header(SagaEventType.PAYMENT_COMPLETED, commonSize(e.getEventId(),
+                        e.getSagaStartedAt(), e.getOccurredAt())
+                        + sizeOf(4, e.getOrderId()) + sizeOf(5, e.getPaymentId()) + sizeOf(6, e.getAmount()));
+                writeCommon(writer, e.getEventId(), e.getSagaStartedAt(), e.getOccurredAt());
+                writer.write(4, e.getOrderId());
+                writer.write(5, e.getPaymentId());
+                writer.write(6, e.getAmount());
+                yield writer.buffer();
+            }
+            case OrderFailedEvent e -> {
+                ProtoWriter writer = header(SagaEventType.ORDER_FAILED, commonSize(e.getEventId(),
+                        e.getSagaStartedAt(), e.getOccurredAt())
+                        + sizeOf(4, e.getOrderId()) + sizeOf(5, e.getReason()));
+                writeCommon(writer, e.getEventId(), e.getSagaStartedAt(), e.getOccurredAt());
+                writer.write(4, e.getOrderId());
+                writer.write(5, e.getReason());
+                yield writer.buffer();
+            }
+            default -> throw new IllegalArgumentException("사가 이벤트가 아닙니다: " + event.getClass().getName());
+        };
+    }
+
+    public static Object decode(byte[] data) {
+        if (!isBinary(data)) {
+            throw new IllegalArgumentException("바이너리 사가 이벤트가 아닙니다.");
+        }
+        if (data[1] != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 스키마 버전입니다: " + data[1]);
+        }
+
+        ProtoReader reader = new ProtoReader(data, HEADER_SIZE);
+        return switch (SagaEventType.fromId(data[2])) {
+            case ORDER_CREATED -> readOrderCreated(reader);
+            case INVENTORY_RESERVED -> readInventoryReserved(reader);
+            case PAYMENT_COMPLETED -> readPaymentCompleted(reader);
+            case ORDER_FAILED -> readOrderFailed(reader);
+        };
+    }
+
+    private static OrderCreatedEvent readOrderCreated(ProtoReader reader) {
+        OrderCreatedEvent event = new OrderCreatedEvent();
+        while (reader.hasRemaining()) {
+            int tag = reader.readTag();
+            switch (tag >>> 3) {
+                case 1 -> event.setEventId(reader.readString(tag));
+                case 2 -> event.setSagaStartedAt(reader.readInt64(tag));
+                case 3 -> event.setOccurredAt(reader.readInt64(tag));
+                case 4 -> event.setOrderId(reader.readInt64(tag));
+                case 5 -> event.setUserId(reader.readInt64(tag));
+                case 6 -> event.setProductId(reader.readInt64(tag));
+                case 7 -> event.setQuantity(reader.readInt32(tag));
+                default -> reader.skip(tag);
+            }
+        }
+        return event;
+    }
+
+    private static InventoryReservedEvent readInventoryReserved(ProtoReader reader) {
+        InventoryReservedEvent event = new InventoryReservedEvent();
+        while (reader.hasRemaining()) {
+            int tag = reader.readTag();
+            switch (tag >>> 3) {
+                case 1 -> event.setEventId(reader.readString(tag));
+                case 2 -> event.setSagaStartedAt(reader.readInt64(tag));
+                case 3 -> event.setOccurredAt(reader.readInt64(tag));
+                case 4 -> event.setOrderId(reader.readInt64(tag));
+                case 5 -> event.setUserId(reader.readInt64(tag));
+                case 6 -> event.setAmount(reader.readInt32(tag));
+                default -> reader.skip(tag);
+            }
+        }
+        return event;
+    }
+
+    private static PaymentCompletedEvent readPaymentCompleted(ProtoReader reader) {
+        PaymentCompletedEvent event = new PaymentCompletedEvent();
+        while (reader.hasRemaining()) {
+            int tag = reader.readTag();
+            switch (tag >>> 3) {
+                case 1 -> event.setEventId(reader.readString(tag));
+                case 2 -> event.setSagaStartedAt(reader.readInt64(tag));
+                case 3 -> event.setOccurredAt(reader.readInt64(tag));
+                case 4 -> event.setOrderId(reader.readInt64(tag));
+                case 5 -> event.setPaymentId(reader.readInt64(tag));
+                case 6 -> event.setAmount(reader.readInt32(tag));
+                default -> reader.skip(tag);
+            }
+        }
+        return event;
+    }
+
+    private static OrderFailedEvent readOrderFailed(ProtoReader reader) {
+        OrderFailedEvent event = new OrderFailedEvent();
+        while (reader.hasRemaining()) {
+            int tag = reader.readTag();
+            switch (tag >>> 3) {
+                case 1 -> event.setEventId(reader.readString(tag));
+                case 2 -> event.setSagaStartedAt(reader.readInt64(tag));
+                case 3 -> event.setOccurredAt(reader.readInt64(tag));
+                case 4 -> event.setOrderId(reader.readInt64(tag));
+                case 5 -> event.setReason(reader.readString(tag));
+                default -> reader.skip(tag);
+            }
+        }
+        return event;
+    }
+
+    private static ProtoWriter header(SagaEventType type, int bodySize) {
+        ProtoWriter writer = new ProtoWriter(HEADER_SIZE + bodySize);
+        writer.writeByte(MAGIC);
+        writer.writeByte(VERSION);
+        writer.writeByte(type.id());
+        return writer;
+    }
+
+    private static int commonSize(String eventId, Long sagaStartedAt, Long occurredAt) {
+        return sizeOf(1, eventId) + sizeOf(2, sagaStartedAt) + sizeOf(3, occurredAt);
+    }
+
+    private static void writeCommon(ProtoWriter writer, String eventId, Long sagaStartedAt, Long occurredAt) {
+        writer.write(1, eventId);
+        writer.write(2, sagaStartedAt);
+        writer.write(3, occurredAt);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.saga.event.codec;
+
+import com.example.saga.event.InventoryReservedEvent;
+import com.example.saga.event.OrderCreatedEvent;
+import com.example.saga.event.OrderFailedEvent;
+import com.example.saga.event.PaymentCompletedEvent;
+
+/**
+ * 사가 이벤트 종류입니다.
+ *
+ * - id: 바이너리 헤더의 이벤트 타입 (saga-events.proto)
+ * - topic: 기본 토픽 (재시도 토픽은 이 이름으로 시작)
+ * - typeToken: JSON 포맷일 때 __TypeId__ 헤더에 쓰는 값 (이전 컨슈머는 spring.json.type.mapping으로 자기 클래스에 연결)
+ */
+public enum SagaEventType {
+    ORDER_CREATED(1, "order-created", "orderCreated", OrderCreatedEvent.class),
+    INVENTORY_RESERVED(2, "inventory-reserved", "inventoryReserved", InventoryReservedEvent.class),
+    PAYMENT_COMPLETED(3, "payment-completed", "paymentCompleted", PaymentCompletedEvent.class),
+    ORDER_FAILED(4, "order-failed", "orderFailed", OrderFailedEvent.class);
+
+    private static final SagaEventType[] BY_ID = new SagaEventType[5];
+
+    static {
+        for (SagaEventType type : values()) {
+            BY_ID[type.id] = type;
+        }
+    }
+
+    private final int id;
+    private final String topic;
+    private final String typeToken;
+    private final Class<?> eventClass;
+
+    SagaEventType(int id, String topic, String typeToken, Class<?> eventClass) {
+        this.id = id;
+        this.topic = topic;
+        this.typeToken = typeToken;
+        this.eventClass = eventClass;
+    }
+
+    public int id() {
+        return id;
+    }
+
+    public String topic() {
+        return topic;
+    }
+
+    public String typeToken() {
+        return typeToken;
+    }
+
+    public Class<?> eventClass() {
+        return eventClass;
+    }
+
+    public static SagaEventType fromId(int id) {
+        SagaEventType type = id > 0 && id < BY_ID.length ? BY_ID[id] : null;
+        if (type == null) {
+            throw new IllegalArgumentException("알 수 없는 이벤트 타입입니다: " + id);
+        }
+        return type;
+    }
+
+    /**
+     * __TypeId__ 헤더 값(토큰 또는 이전 클래스명)으로 찾습니다. 없으면 null을 반환합니다.
+     */
+    public static SagaEventType fromTypeHeader(String value) {
+        for (SagaEventType type : values()) {
+            if (type.typeToken.equals(value)) {
+                return type;
+            }
+        }
+        return fromClassName(value);
+    }
+
+    /**
+     * 토픽 이름으로 찾습니다 (order-created-retry-0 같은 재시도 토픽 포함). 없으면 null을 반환합니다.
+     */
+    public static SagaEventType fromTopic(String topic) {
+        for (SagaEventType type : values()) {
+            if (topic.startsWith(type.topic)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 서비스별로 이벤트 클래스가 있던 시절의 클래스명(outbox_event.event_type)으로 찾습니다.
+     * 패키지와 관계없이 클래스 이름으로 비교합니다. 없으면 null을 반환합니다.
+     */
+    public static SagaEventType fromClassName(String className) {
+        String simpleName = className.substring(className.lastIndexOf('.') + 1);
+        if ("PaymentCompleteEvent".equals(simpleName)) {
+            return PAYMENT_COMPLETED;
+        }
+        for (SagaEventType type : values()) {
+            if (type.eventClass.getSimpleName().equals(simpleName)) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.saga.event.idempotency;
+
+import java.time.LocalDateTime;
+
+/**
+ * ProcessedEventStore가 쓰는 processed_event 테이블 접근입니다.
+ * 각 서비스의 ProcessedEventRepository가 자기 스키마의 테이블로 구현합니다.
+ */
+public interface ProcessedEventLog {
+
+    /**
+     * 처리 이력을 기록합니다. 이미 있으면 0을 반환합니다 (조회 없이 한 번의 INSERT로 중복 여부를 판단).
+     */
+    int recordIfAbsent(String eventId);
+
+    int purgeBefore(LocalDateTime cutoff);
+}
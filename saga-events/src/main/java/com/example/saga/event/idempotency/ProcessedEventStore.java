@@ -0,0 +1,164 @@
+package com.example.saga.event.idempotency;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 이벤트 ID 기반으로 중복 처리를 막습니다.
+ *
+ * 최종 판단은 processed_event 테이블의 INSERT ... ON CONFLICT DO NOTHING 결과로 하며,
+ * 처리 트랜잭션과 함께 커밋되므로 효과와 처리 기록이 항상 같이 남습니다.
+ * 최근에 처리한 ID는 메모리(Bloom filter + LRU)에도 보관하여, 재전달된 이벤트는
+ * 트랜잭션을 열기 전에 걸러냅니다. Bloom filter는 잠금 없이 "처음 보는 ID"를 판별하므로
+ * 대부분의 신규 이벤트는 LRU 잠금도 거치지 않습니다.
+ * 메모리 캐시는 이 인스턴스가 처리한 ID만 알기 때문에 "중복" 판단에만 사용합니다.
+ *
+ * 세 서비스가 같이 쓰며, 테이블은 각 서비스의 ProcessedEventLog 구현(ProcessedEventRepository)으로 접근합니다.
+ */
+@Slf4j
+@Component
+public class ProcessedEventStore {
+
+    private final ProcessedEventLog processedEventLog;
+    private final int cacheSize;
+    private final long retentionDays;
+    private final Map<String, Boolean> recentEventIds;
+    private volatile BloomFilter bloomFilter;
+
+    public ProcessedEventStore(ProcessedEventLog processedEventLog,
+                               @Value("${saga.idempotency.cache-size:100000}") int cacheSize,
+                               @Value("${saga.idempotency.retention-days:7}") long retentionDays) {
+        this.processedEventLog = processedEventLog;
+        this.cacheSize = cacheSize;
+        this.retentionDays = retentionDays;
+        this.recentEventIds = new LinkedHashMap<>(cacheSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > ProcessedEventStore.this.cacheSize;
+            }
+        };
+        this.bloomFilter = new BloomFilter(cacheSize);
+    }
+
+    /**
+     * 이 인스턴스가 최근에 처리한 이벤트인지 확인합니다. DB를 조회하지 않습니다.
+     */
+    public boolean isKnownDuplicate(String eventId) {
+        if (eventId == null || !bloomFilter.mightContain(eventId)) {
+            return false;
+        }
+        synchronized (recentEventIds) {
+            return recentEventIds.containsKey(eventId);
+        }
+    }
+
+    /**
+     * 현재 트랜잭션에서 이벤트를 처리 완료로 기록합니다.
+     * 이미 처리된 이벤트면 false를 반환하며, 호출 측은 처리를 건너뛰어야 합니다.
+     * eventId가 없는 이벤트(이전 버전 프로듀서)는 항상 처리합니다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean markProcessed(String eventId) {
+        if (eventId == null) {
+            return true;
+        }
+        if (isKnownDuplicate(eventId)) {
+            return false;
+        }
+        if (processedEventLog.recordIfAbsent(eventId) == 0) {
+            remember(eventId);
+            return false;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                remember(eventId);
+            }
+        });
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${saga.idempotency.purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int deleted = processedEventLog.purgeBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("보관 기간이 지난 처리 이력을 삭제했습니다. count={}", deleted);
+        }
+    }
+
+    private void remember(String eventId) {
+        synchronized (recentEventIds) {
+            recentEventIds.put(eventId, Boolean.TRUE);
+            BloomFilter current = bloomFilter;
+            if (current.put(eventId) > cacheSize * 2L) {
+                // 삽입이 누적되어 오탐률이 높아지면 LRU에 남은 ID로 다시 만든다
+                BloomFilter rebuilt = new BloomFilter(cacheSize);
+                recentEventIds.keySet().forEach(rebuilt::put);
+                bloomFilter = rebuilt;
+            }
+        }
+    }
+
+    /**
+     * 잠금 없이 읽을 수 있는 Bloom filter (약 1% 오탐률 기준 크기).
+     */
+    private static final class BloomFilter {
+        private static final int HASH_COUNT = 7;
+
+        private final AtomicLongArray bits;
+        private final long bitCount;
+        private long insertions;
+
+        private BloomFilter(int expectedInsertions) {
+            long size = Math.max(64L, (long) (expectedInsertions * 9.6));
+            this.bits = new AtomicLongArray((int) ((size + 63) / 64));
+            this.bitCount = bits.length() * 64L;
+        }
+
+        private boolean mightContain(String value) {
+            long hash1 = value.hashCode();
+            long hash2 = mix(hash1);
+            for (int i = 0; i < HASH_COUNT; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // remember()의 잠금 안에서만 호출된다
+        private long put(String value) {
+            long hash1 = value.hashCode();
+            long hash2 = mix(hash1);
+            for (int i = 0; i < HASH_COUNT; i++) {
+                long bit = Math.floorMod(hash1 + i * hash2, bitCount);
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = bits.get(index);
+                } while ((current & mask) == 0 && !bits.compareAndSet(index, current, current | mask));
+            }
+            return ++insertions;
+        }
+
+        private static long mix(long value) {
+            long h = value * 0x9E3779B97F4A7C15L;
+            return (h ^ (h >>> 32)) | 1L;
+        }
+    }
+}
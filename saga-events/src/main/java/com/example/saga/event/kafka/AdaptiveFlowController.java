@@ -0,0 +1,203 @@
+package com.example.saga.event.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 처리 지연과 오류로 동시에 처리할 레코드 수(limit)를 AIMD 방식으로 조절하고,
+ * 진행 중인 레코드가 limit에 닿으면 리스너 컨테이너를 멈춥니다(pause). limit 아래로 내려오면 다시 가져옵니다(resume).
+ *
+ * - 증가: 지연이 target-latency 이하로 끝난 레코드마다 limit += 1 / limit (limit건 성공마다 약 +1)
+ * - 감소: 지연이 target-latency를 넘거나 오류로 끝나면 limit *= backoff-ratio (target-latency 간격으로 한 번만)
+ * - limit이 max-limit이면 컨테이너를 멈추지 않음 (엔진 한도가 이미 상한)
+ *
+ * DB나 PG가 느려졌을 때 처리 중인 레코드를 줄여 잠금 대기와 타임아웃이 쌓이지 않게 하고,
+ * 회복되면 다시 늘려 처리량을 지속 가능한 최대치 근처로 유지합니다.
+ * pause/resume은 서비스 설정에서 리스너 컨테이너에 연결합니다 (pauseImmediate로 다음 레코드부터 멈춤).
+ *
+ * 리스너 스레드에서 동기로 처리하는 리스너는 진행 중인 레코드 수가 스레드 수를 넘지 않아 컨테이너를 멈출 일이 없으므로,
+ * 파티션 모드(PartitionControl)를 씁니다. 느리거나 실패한 레코드의 파티션만 멈추고
+ * target-latency x max-limit / limit 동안 쉬었다가 다시 시작하며, 나머지 파티션은 계속 처리합니다.
+ */
+public class AdaptiveFlowController {
+
+    /**
+     * @param enabled         false면 진행 중인 수만 세고 limit 조절 / pause는 하지 않음
+     * @param minLimit        limit 하한
+     * @param maxLimit        limit 상한 (시작값)
+     * @param targetLatencyMs 이보다 오래 걸린 레코드는 과부하 신호
+     * @param backoffRatio    과부하 시 limit에 곱하는 값 (0 ~ 1)
+     */
+    public record Settings(boolean enabled, int minLimit, int maxLimit, long targetLatencyMs, double backoffRatio) {
+    }
+
+    /**
+     * 파티션 하나를 멈추고 다시 시작합니다 (MessageListenerContainer.pausePartition / resumePartition).
+     */
+    public interface PartitionControl {
+        void pause(TopicPartition partition);
+
+        void resume(TopicPartition partition);
+    }
+
+    private final Settings settings;
+    private final long targetLatencyNanos;
+    private final Runnable pause;
+    private final Runnable resume;
+    private final PartitionControl partitionControl;
+    private final TaskScheduler taskScheduler;
+    private final Set<TopicPartition> pausedPartitions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Object pauseLock = new Object();
+    private final Counter pauses;
+
+    private volatile double limit;
+    private volatile boolean paused;
+    private long lastDecreaseNanos;
+
+    public AdaptiveFlowController(String name, Settings settings, MeterRegistry meterRegistry,
+                                  Runnable pause, Runnable resume) {
+        this(name, settings, meterRegistry, pause, resume, null, null);
+    }
+
+    /**
+     * 느린 레코드의 파티션만 멈추는 파티션 모드입니다. release(partition, ...)로 끝난 레코드의 파티션을 알려야 합니다.
+     */
+    public AdaptiveFlowController(String name, Settings settings, MeterRegistry meterRegistry,
+                                  PartitionControl partitionControl, TaskScheduler taskScheduler) {
+        this(name, settings, meterRegistry, null, null, partitionControl, taskScheduler);
+    }
+
+    private AdaptiveFlowController(String name, Settings settings, MeterRegistry meterRegistry,
+                                   Runnable pause, Runnable resume,
+                                   PartitionControl partitionControl, TaskScheduler taskScheduler) {
+        this.settings = settings;
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(settings.targetLatencyMs());
+        this.pause = pause;
+        this.resume = resume;
+        this.partitionControl = partitionControl;
+        this.taskScheduler = taskScheduler;
+        this.limit = settings.maxLimit();
+        this.lastDecreaseNanos = System.nanoTime() - targetLatencyNanos;
+        Gauge.builder("saga.flow.limit", () -> (int) limit).tag("listener", name).register(meterRegistry);
+        Gauge.builder("saga.flow.in-flight", inFlight::get).tag("listener", name).register(meterRegistry);
+        this.pauses = Counter.builder("saga.flow.pauses").tag("listener", name).register(meterRegistry);
+    }
+
+    /**
+     * 레코드 처리를 시작합니다. 반환한 시작 시각을 release()에 넘깁니다.
+     */
+    public long acquire() {
+        updatePause(inFlight.incrementAndGet());
+        return System.nanoTime();
+    }
+
+    /**
+     * 레코드 처리가 끝났습니다. 예외로 끝났으면 success=false입니다.
+     */
+    public void release(long startNanos, boolean success) {
+        if (settings.enabled()) {
+            onSample(System.nanoTime() - startNanos, success);
+        }
+        updatePause(inFlight.decrementAndGet());
+    }
+
+    /**
+     * 파티션 모드에서 레코드 처리가 끝났습니다. 느리거나 실패했으면 그 파티션을 잠시 멈춥니다.
+     */
+    public void release(TopicPartition partition, long startNanos, boolean success) {
+        if (settings.enabled() && onSample(System.nanoTime() - startNanos, success) && partitionControl != null) {
+            pausePartition(partition);
+        }
+        updatePause(inFlight.decrementAndGet());
+    }
+
+    public boolean isPaused() {
+        return paused || !pausedPartitions.isEmpty();
+    }
+
+    /**
+     * 지금까지 컨테이너 / 파티션을 멈춘 횟수입니다 (saga.flow.pauses).
+     */
+    public long pauseCount() {
+        return (long) pauses.count();
+    }
+
+    public int limit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * limit을 조절하고, 과부하 신호(느림 / 실패)였으면 true를 돌려줍니다.
+     */
+    private synchronized boolean onSample(long latencyNanos, boolean success) {
+        long now = System.nanoTime();
+        if (!success || latencyNanos > targetLatencyNanos) {
+            // 한 번 줄인 뒤 그 전에 시작한 레코드들의 느린 결과로 연달아 줄이지 않는다
+            if (now - lastDecreaseNanos >= targetLatencyNanos) {
+                limit = Math.max(settings.minLimit(), limit * settings.backoffRatio());
+                lastDecreaseNanos = now;
+            }
+            return true;
+        }
+        limit = Math.min(settings.maxLimit(), limit + 1.0 / limit);
+        return false;
+    }
+
+    private void pausePartition(TopicPartition partition) {
+        synchronized (pauseLock) {
+            if (!pausedPartitions.add(partition)) {
+                return;
+            }
+            pauses.increment();
+            partitionControl.pause(partition);
+        }
+        // limit이 줄어든 만큼 오래 쉰다
+        long backoffMs = Math.round(settings.targetLatencyMs() * settings.maxLimit() / Math.max(1.0, limit));
+        taskScheduler.schedule(() -> {
+            synchronized (pauseLock) {
+                if (pausedPartitions.remove(partition)) {
+                    partitionControl.resume(partition);
+                }
+            }
+        }, Instant.now().plusMillis(backoffMs));
+    }
+
+    private void updatePause(int current) {
+        if (pause == null || shouldPause(current) == paused) {
+            return;
+        }
+        // pause / resume 호출 순서가 뒤바뀌지 않도록 잠금 안에서 다시 판단한다
+        synchronized (pauseLock) {
+            boolean shouldPause = shouldPause(inFlight.get());
+            if (shouldPause == paused) {
+                return;
+            }
+            paused = shouldPause;
+            if (shouldPause) {
+                pauses.increment();
+                pause.run();
+            } else {
+                resume.run();
+            }
+        }
+    }
+
+    private boolean shouldPause(int current) {
+        int window = (int) limit;
+        return settings.enabled() && window < settings.maxLimit() && current >= window;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.saga.event.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * DLT에 쌓인 메시지를 이 서비스의 첫 번째 재시도 토픽(SagaRetryTopics.firstRetryTopic)으로 다시 보냅니다.
+ *
+ * - 원래 토픽은 다른 서비스도 구독하므로 그쪽으로 보내면 모든 컨슈머 그룹이 다시 처리함 (결제 중복 등).
+ *   재시도 토픽은 이 서비스의 컨슈머 그룹만 구독하므로 DLT를 가진 서비스만 다시 처리하며,
+ *   eventId 보관 기간이 지난 오래된 DLT를 다시 보내도 다른 서비스에 영향이 없음
+ * - 값은 역직렬화하지 않고 바이트 그대로 옮기므로 역직렬화에 실패했던 메시지도 다시 보낼 수 있음
+ * - DLT / 재시도 헤더는 떼어 내므로 재시도 횟수가 처음부터 다시 시작됨
+ * - 전용 컨슈머 그룹에 오프셋을 커밋하므로 같은 메시지를 두 번 보내지 않으며, 전송이 실패하면 커밋하지 않음
+ */
+public class DltReplayer {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+
+    private final Map<String, Object> consumerConfig;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final SagaRetryTopics sagaRetryTopics;
+
+    public DltReplayer(ConsumerFactory<?, ?> consumerFactory, KafkaTemplate<String, Object> kafkaTemplate,
+                       SagaRetryTopics sagaRetryTopics, String groupId) {
+        this.consumerConfig = new HashMap<>(consumerFactory.getConfigurationProperties());
+        this.consumerConfig.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        this.consumerConfig.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        this.consumerConfig.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        this.consumerConfig.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        this.consumerConfig.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        this.kafkaTemplate = kafkaTemplate;
+        this.sagaRetryTopics = sagaRetryTopics;
+    }
+
+    /**
+     * dltTopic에서 아직 다시 보내지 않은 메시지를 최대 maxRecords건 재시도 토픽으로 보내고, 보낸 건수를 반환합니다.
+     * 이 서비스의 DLT가 아니면 IllegalArgumentException을 던집니다.
+     */
+    public synchronized int replay(String dltTopic, int maxRecords) {
+        String retryTopic = sagaRetryTopics.firstRetryTopic(sagaRetryTopics.mainTopicOf(dltTopic));
+        try (KafkaConsumer<String, byte[]> consumer = new KafkaConsumer<>(consumerConfig)) {
+            List<PartitionInfo> partitionInfos = consumer.partitionsFor(dltTopic);
+            if (partitionInfos == null || partitionInfos.isEmpty()) {
+                return 0;
+            }
+            consumer.assign(partitionInfos.stream()
+                    .map(info -> new TopicPartition(dltTopic, info.partition()))
+                    .toList());
+
+            List<CompletableFuture<?>> sends = new ArrayList<>();
+            Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+            while (sends.size() < maxRecords) {
+                ConsumerRecords<String, byte[]> records = consumer.poll(POLL_TIMEOUT);
+                if (records.isEmpty()) {
+                    break;
+                }
+                for (ConsumerRecord<String, byte[]> record : records) {
+                    if (sends.size() == maxRecords) {
+                        break;
+                    }
+                    sends.add(kafkaTemplate.send(toRetry(record, retryTopic)));
+                    offsets.put(new TopicPartition(record.topic(), record.partition()),
+                            new OffsetAndMetadata(record.offset() + 1));
+                }
+            }
+
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).join();
+            if (!offsets.isEmpty()) {
+                consumer.commitSync(offsets);
+            }
+            return sends.size();
+        }
+    }
+
+    private ProducerRecord<String, Object> toRetry(ConsumerRecord<String, byte[]> record, String retryTopic) {
+        RecordHeaders headers = new RecordHeaders();
+        for (Header header : record.headers()) {
+            if (!header.key().startsWith("kafka_dlt-") && !header.key().startsWith("retry_topic-")) {
+                headers.add(header);
+            }
+        }
+        // 파티션은 지정하지 않고 키로 정해지게 하여 같은 주문의 메시지를 같은 파티션으로 보낸다
+        return new ProducerRecord<>(retryTopic, null, record.key(), record.value(), headers);
+    }
+}
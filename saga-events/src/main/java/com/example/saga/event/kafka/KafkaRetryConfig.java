@@ -0,0 +1,38 @@
+package com.example.saga.event.kafka;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.retrytopic.DestinationTopicResolver;
+
+/**
+ * 리스너 실패 시 재시도 토픽 / DLT 설정입니다 (리스너의 @SagaRetryableTopic에서 사용).
+ *
+ * - 실패한 메시지는 재시도 토픽으로 옮겨 지연 후 다시 처리하므로, 원래 파티션의 다음 메시지를 막지 않음
+ * - 같은 토픽을 여러 서비스가 구독하므로 재시도 / DLT 토픽 이름에 서비스 이름(saga.retry.service)을 넣어 서로 섞이지 않게 함
+ * - 비동기 작업에서 실패한 레코드는 SagaFailureRecoverer로 같은 재시도 단계를 거침
+ * - DLT에 쌓인 메시지는 DltReplayer(POST /admin/dlt/{topic}/replay)로 이 서비스의 재시도 토픽에 다시 보냄
+ */
+@Configuration
+public class KafkaRetryConfig {
+
+    @Bean
+    public SagaRetryTopics sagaRetryTopics(@Value("${saga.retry.service}") String service) {
+        return new SagaRetryTopics(service);
+    }
+
+    @Bean
+    public DltReplayer dltReplayer(ConsumerFactory<?, ?> consumerFactory, KafkaTemplate<String, Object> kafkaTemplate,
+                                   SagaRetryTopics sagaRetryTopics,
+                                   @Value("${spring.application.name}") String applicationName) {
+        return new DltReplayer(consumerFactory, kafkaTemplate, sagaRetryTopics, applicationName + "-dlt-replay");
+    }
+
+    @Bean
+    public SagaFailureRecoverer sagaFailureRecoverer(ObjectProvider<DestinationTopicResolver> destinationTopicResolver) {
+        return new SagaFailureRecoverer(destinationTopicResolver);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.saga.event.kafka;
+
+import com.example.saga.event.codec.SagaEventCodec;
+import com.example.saga.event.codec.SagaEventType;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 바이너리 포맷과 이전 JSON 포맷을 모두 읽습니다.
+ *
+ * 매직 바이트로 시작하면 SagaEventCodec으로 읽고, 아니면 JSON으로 읽습니다.
+ * JSON의 타입은 이전 JsonSerializer가 남긴 __TypeId__ 헤더(토큰 / 클래스명)로, 없으면 토픽 이름으로 정합니다.
+ */
+public class SagaEventDeserializer implements Deserializer<Object> {
+
+    private static final String TYPE_ID_HEADER = "__TypeId__";
+
+    private static final JsonMapper JSON = JsonMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            if (SagaEventCodec.isBinary(data)) {
+                return SagaEventCodec.decode(data);
+            }
+            return JSON.readValue(data, jsonType(topic, headers).eventClass());
+        } catch (RuntimeException e) {
+            throw new SerializationException("사가 이벤트를 역직렬화할 수 없습니다. topic=" + topic, e);
+        }
+    }
+
+    private SagaEventType jsonType(String topic, Headers headers) {
+        Header typeId = headers != null ? headers.lastHeader(TYPE_ID_HEADER) : null;
+        SagaEventType type = typeId != null
+                ? SagaEventType.fromTypeHeader(new String(typeId.value(), StandardCharsets.UTF_8))
+                : null;
+        if (type == null) {
+            type = SagaEventType.fromTopic(topic);
+        }
+        if (type == null) {
+            throw new IllegalArgumentException("이벤트 타입을 알 수 없습니다.");
+        }
+        return type;
+    }
+}
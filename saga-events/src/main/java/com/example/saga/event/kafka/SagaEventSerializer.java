@@ -0,0 +1,64 @@
+package com.example.saga.event.kafka;
+
+import com.example.saga.event.codec.SagaEventCodec;
+import com.example.saga.event.codec.SagaEventType;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * 사가 이벤트를 바이너리 포맷(SagaEventCodec)으로 직렬화합니다.
+ *
+ * - outbox에 이미 인코딩되어 저장된 byte[]는 그대로 전송
+ * - saga.events.format=json 이면 JSON으로 직렬화하고 __TypeId__ 헤더에 이벤트 토큰(orderCreated 등)을 씀 (마이그레이션 중 되돌릴 때 사용)
+ *
+ * JSON으로 되돌렸을 때 이전 컨슈머(JsonDeserializer)는 토큰을 자기 이벤트 클래스에 연결해야 합니다.
+ * 예: spring.json.type.mapping: "inventoryReserved:com.example.order.dto.event.InventoryReservedEvent"
+ */
+public class SagaEventSerializer implements Serializer<Object> {
+
+    public static final String FORMAT_CONFIG = "saga.events.format";
+    public static final String TYPE_ID_HEADER = "__TypeId__";
+
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    private boolean json;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        json = "json".equalsIgnoreCase(String.valueOf(configs.get(FORMAT_CONFIG)));
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return serialize(topic, null, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            if (!json) {
+                return data instanceof byte[] encoded ? encoded : SagaEventCodec.encode(data);
+            }
+            Object event = data instanceof byte[] encoded ? SagaEventCodec.decode(encoded) : data;
+            if (headers != null) {
+                SagaEventType type = SagaEventType.fromClassName(event.getClass().getName());
+                if (type == null) {
+                    throw new IllegalArgumentException("사가 이벤트가 아닙니다: " + event.getClass().getName());
+                }
+                headers.remove(TYPE_ID_HEADER);
+                headers.add(TYPE_ID_HEADER, type.typeToken().getBytes(StandardCharsets.UTF_8));
+            }
+            return JSON.writeValueAsBytes(event);
+        } catch (RuntimeException e) {
+            throw new SerializationException("사가 이벤트를 직렬화할 수 없습니다. topic=" + topic, e);
+        }
+    }
+}
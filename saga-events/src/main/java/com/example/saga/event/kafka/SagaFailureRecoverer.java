@@ -0,0 +1,49 @@
+package com.example.saga.event.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.retrytopic.DeadLetterPublishingRecovererFactory;
+import org.springframework.kafka.retrytopic.DestinationTopicResolver;
+
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 리스너 밖(비동기 작업 등)에서 처리에 실패한 레코드를 @SagaRetryableTopic의 다음 단계로 보냅니다.
+ *
+ * 리스너가 예외를 던졌을 때 컨테이너가 쓰는 것과 같은 DeadLetterPublishingRecoverer(DestinationTopicResolver 기반)를 사용하므로
+ * - 재시도 횟수 헤더로 다음 재시도 토픽(1s → 4s → 16s) 또는 DLT를 고르고, 재시도할 수 없는 예외는 바로 DLT로 보냄
+ * - 재시도 시각(backoff), 재시도 횟수, 원래 토픽 / 오프셋, 예외 헤더를 붙여 재시도 리스너가 지연 후 처리하게 함
+ *
+ * 레코드는 리스너가 받은 ConsumerRecord 그대로(헤더 포함) 넘겨야 재시도 횟수가 이어집니다.
+ * 전송 결과를 기다렸다가 돌아오며, 전송에 실패하면 예외를 던집니다.
+ */
+public class SagaFailureRecoverer {
+
+    private final ObjectProvider<DestinationTopicResolver> destinationTopicResolver;
+    private final Map<String, DeadLetterPublishingRecoverer> recoverers = new ConcurrentHashMap<>();
+
+    public SagaFailureRecoverer(ObjectProvider<DestinationTopicResolver> destinationTopicResolver) {
+        this.destinationTopicResolver = destinationTopicResolver;
+    }
+
+    /**
+     * @param listenerId 레코드를 받은 @KafkaListener(메인 토픽)의 id
+     */
+    public void recover(String listenerId, ConsumerRecord<?, ?> record, Throwable failure) {
+        // 재시도 토픽 설정은 리스너를 등록하면서 만들어지므로 처음 실패할 때 가져온다
+        DeadLetterPublishingRecoverer recoverer = recoverers.computeIfAbsent(listenerId,
+                id -> new DeadLetterPublishingRecovererFactory(destinationTopicResolver.getObject()).create(id));
+        // 리스너 스레드가 아니므로 컨슈머 없이 보낸다 (KafkaConsumer는 스레드에 안전하지 않음)
+        recoverer.accept(record, null, toException(failure));
+    }
+
+    private static Exception toException(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause()
+                : failure;
+        return cause instanceof Exception exception ? exception : new IllegalStateException(cause);
+    }
+}
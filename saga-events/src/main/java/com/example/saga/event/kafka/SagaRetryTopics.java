@@ -0,0 +1,51 @@
+package com.example.saga.event.kafka;
+
+/**
+ * 이 서비스의 재시도 / DLT 토픽 이름입니다 (@SagaRetryableTopic과 같은 규칙).
+ *
+ * - 재시도 토픽: <토픽>-<서비스>-retry-<지연ms>, DLT: <토픽>-<서비스>-dlt
+ * - 같은 토픽을 여러 서비스가 구독하므로 서비스 이름(saga.retry.service)을 넣어 다른 컨슈머 그룹에 보이지 않게 함
+ */
+public class SagaRetryTopics {
+
+    // @SagaRetryableTopic의 첫 재시도 지연이자 첫 재시도 토픽 이름의 접미사
+    public static final long FIRST_RETRY_DELAY_MS = 1000;
+
+    private final String retryTopicSuffix;
+    private final String dltTopicSuffix;
+
+    public SagaRetryTopics(String service) {
+        this.retryTopicSuffix = "-" + service + "-retry";
+        this.dltTopicSuffix = "-" + service + "-dlt";
+    }
+
+    public boolean isDlt(String topic) {
+        return topic.endsWith(dltTopicSuffix) && topic.length() > dltTopicSuffix.length();
+    }
+
+    /**
+     * DLT 이름에서 원래(메인) 토픽 이름을 구합니다.
+     */
+    public String mainTopicOf(String dltTopic) {
+        if (!isDlt(dltTopic)) {
+            throw new IllegalArgumentException("이 서비스의 DLT가 아닙니다: " + dltTopic);
+        }
+        return dltTopic.substring(0, dltTopic.length() - dltTopicSuffix.length());
+    }
+
+    /**
+     * 메인 토픽에 대한 이 서비스의 DLT입니다.
+     * 재시도 토픽을 쓸 수 없는 배치 리스너도 재시도를 모두 실패한 레코드를 여기로 보냅니다.
+     */
+    public String dltTopic(String mainTopic) {
+        return mainTopic + dltTopicSuffix;
+    }
+
+    /**
+     * 이 서비스의 컨슈머 그룹만 구독하는 첫 번째 재시도 토픽입니다.
+     * 여기로 보낸 메시지는 재시도 리스너가 바로 처리하고, 실패하면 다음 재시도 토픽 / DLT로 이어집니다.
+     */
+    public String firstRetryTopic(String mainTopic) {
+        return mainTopic + retryTopicSuffix + "-" + FIRST_RETRY_DELAY_MS;
+    }
+}
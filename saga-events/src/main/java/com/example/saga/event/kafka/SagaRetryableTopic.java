@@ -0,0 +1,33 @@
+package com.example.saga.event.kafka;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.kafka.annotation.BackOff;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.retrytopic.TopicSuffixingStrategy;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 단일 레코드 리스너의 공통 재시도 토픽 / DLT 설정입니다 (@RetryableTopic 메타 애너테이션).
+ *
+ * - 1s → 4s → 16s 간격으로 재시도하고 (saga.retry.attempts, 최초 시도 포함) 모두 실패하면 DLT로 보냄
+ * - 주문 / 상품 없음, 잘못된 값은 재시도하지 않고 바로 DLT로 보냄
+ * - 토픽 이름은 SagaRetryTopics 규칙 (saga.retry.service)
+ *
+ * 같은 클래스의 @DltHandler 메서드가 DLT 메시지를 받습니다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@RetryableTopic(attempts = "${saga.retry.attempts:4}",
+        backOff = @BackOff(delay = SagaRetryTopics.FIRST_RETRY_DELAY_MS, multiplier = 4, maxDelay = 60000),
+        exclude = {EntityNotFoundException.class, IllegalArgumentException.class}, traversingCauses = "true",
+        retryTopicSuffix = "-${saga.retry.service}-retry", dltTopicSuffix = "-${saga.retry.service}-dlt",
+        topicSuffixingStrategy = TopicSuffixingStrategy.SUFFIX_WITH_DELAY_VALUE,
+        numPartitions = "${saga.kafka.topic.partitions:6}", replicationFactor = "${saga.kafka.topic.replicas:1}")
+public @interface SagaRetryableTopic {
+}
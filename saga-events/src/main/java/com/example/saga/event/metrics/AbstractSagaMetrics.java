@@ -0,0 +1,127 @@
+package com.example.saga.event.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 세 서비스가 같이 쓰는 사가 지표입니다. 서비스별 SagaMetrics가 상속하여 자기 지표를 더합니다.
+ *
+ * saga.stage.duration{listener, stage}
+ * - queue-wait: 이벤트 발생(occurredAt) → 리스너 진입 (outbox 릴레이 + 브로커 대기 포함)
+ * - handler: 리스너 진입 → 처리 완료
+ * - db: 트랜잭션 처리 시간
+ *
+ * saga.outbox.delay / saga.outbox.publish: outbox 대기 시간과 릴레이의 배치 전송 시간
+ * saga.dlt.received{topic}: 재시도를 모두 실패하거나 재시도할 수 없어 DLT로 간 메시지 수
+ * saga.kafka.send{topic, result}: 레코드별 send() → ack(또는 최종 실패) 시간 (linger / 재시도 포함)
+ *
+ * 타이머는 리스너별로 한 번만 등록하고, 기록 시에는 객체를 만들지 않습니다.
+ * 컨슈머 lag은 Spring Boot가 등록하는 Kafka 클라이언트 지표(kafka.consumer.fetch.manager.records.lag*)를 사용합니다.
+ */
+public abstract class AbstractSagaMetrics {
+
+    protected final MeterRegistry meterRegistry;
+    private final Map<String, StageTimers> stages = new ConcurrentHashMap<>();
+    private final Map<String, Timer> sendSucceeded = new ConcurrentHashMap<>();
+    private final Map<String, Timer> sendFailed = new ConcurrentHashMap<>();
+    private final Map<String, Counter> deadLetters = new ConcurrentHashMap<>();
+    private final Timer outboxPublish;
+    private final Timer outboxDelay;
+
+    protected AbstractSagaMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.outboxPublish = histogramTimer("saga.outbox.publish");
+        this.outboxDelay = histogramTimer("saga.outbox.delay");
+    }
+
+    public StageTimers stage(String listener) {
+        StageTimers timers = stages.get(listener);
+        return timers != null ? timers : stages.computeIfAbsent(listener, name -> new StageTimers(meterRegistry, name));
+    }
+
+    /**
+     * outbox 배치 전송을 시작해 모든 ack를 받을 때까지의 시간입니다.
+     */
+    public void recordOutboxPublish(long startNanos) {
+        outboxPublish.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 이벤트가 outbox에 기록된 뒤 전송되기까지 기다린 시간입니다.
+     */
+    public void recordOutboxDelay(LocalDateTime createdAt) {
+        outboxDelay.record(Math.max(0, Duration.between(createdAt, LocalDateTime.now()).toMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * DLT로 간 메시지 수입니다. 0보다 크면 DLT를 확인하고 원인 해결 후 다시 보냅니다 (POST /admin/dlt/{topic}/replay).
+     */
+    public void incrementDeadLetters(String topic) {
+        deadLetters.computeIfAbsent(topic, name -> Counter.builder("saga.dlt.received")
+                .tag("topic", name)
+                .register(meterRegistry)).increment();
+    }
+
+    /**
+     * 레코드 하나를 전송해 ack 또는 최종 실패를 받기까지의 시간입니다. result=failure의 count가 전송 실패 수입니다.
+     */
+    public void recordSend(String topic, long startNanos, boolean success) {
+        Map<String, Timer> timers = success ? sendSucceeded : sendFailed;
+        Timer timer = timers.get(topic);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(topic, name -> Timer.builder("saga.kafka.send")
+                    .tag("topic", name)
+                    .tag("result", success ? "success" : "failure")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    protected Timer histogramTimer(String name) {
+        return Timer.builder(name)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    public static final class StageTimers {
+        private final Timer queueWait;
+        private final Timer handler;
+        private final Timer db;
+
+        private StageTimers(MeterRegistry meterRegistry, String listener) {
+            this.queueWait = stageTimer(meterRegistry, listener, "queue-wait");
+            this.handler = stageTimer(meterRegistry, listener, "handler");
+            this.db = stageTimer(meterRegistry, listener, "db");
+        }
+
+        public void recordQueueWait(Long occurredAt) {
+            if (occurredAt != null) {
+                queueWait.record(Math.max(0, System.currentTimeMillis() - occurredAt), TimeUnit.MILLISECONDS);
+            }
+        }
+
+        public void recordHandler(long startNanos) {
+            handler.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+
+        public void recordDb(long startNanos) {
+            db.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+
+        private static Timer stageTimer(MeterRegistry meterRegistry, String listener, String stage) {
+            return Timer.builder("saga.stage.duration")
+                    .tag("listener", listener)
+                    .tag("stage", stage)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+    }
+}
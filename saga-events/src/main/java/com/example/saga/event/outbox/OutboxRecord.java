@@ -0,0 +1,25 @@
+package com.example.saga.event.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * OutboxRelay가 전송하는 outbox_event 행입니다. 각 서비스의 OutboxEvent 엔티티가 구현합니다.
+ */
+public interface OutboxRecord {
+
+    Long getId();
+
+    String getTopic();
+
+    String getMessageKey();
+
+    String getEventType();
+
+    // SagaEventCodec으로 인코딩된 이벤트
+    byte[] getBody();
+
+    // 바이너리 포맷 도입 전에 기록된 JSON
+    String getPayload();
+
+    LocalDateTime getCreatedAt();
+}
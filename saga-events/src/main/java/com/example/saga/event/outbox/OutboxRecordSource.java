@@ -0,0 +1,19 @@
+package com.example.saga.event.outbox;
+
+import java.util.List;
+
+/**
+ * OutboxRelay가 쓰는 outbox_event 테이블 접근입니다.
+ * 각 서비스의 OutboxEventRepository가 자기 스키마의 테이블로 구현합니다.
+ */
+public interface OutboxRecordSource {
+
+    /**
+     * 메시지 키를 keyBuckets개 버킷으로 나누어, 다른 릴레이 인스턴스가 잡고 있지 않은 버킷을 트랜잭션이 끝날 때까지 잠그고
+     * (pg_try_advisory_xact_lock) 그 버킷에 속한 행을 id 순으로 최대 limit개 잠급니다.
+     * 같은 키의 행은 항상 같은 버킷이므로 한 번에 한 트랜잭션만 전송합니다.
+     */
+    List<? extends OutboxRecord> lockBatchForRelay(int limit, int keyBuckets);
+
+    void deleteRelayed(List<Long> ids);
+}
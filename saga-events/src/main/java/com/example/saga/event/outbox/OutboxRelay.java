@@ -0,0 +1,230 @@
+package com.example.saga.event.outbox;
+
+import com.example.saga.event.codec.SagaEventType;
+import com.example.saga.event.metrics.AbstractSagaMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * outbox_event 테이블을 폴링하여 Kafka로 일괄 전송합니다.
+ *
+ * - 메시지 키를 key-buckets개 버킷으로 나누고 버킷별 advisory lock을 잡은 인스턴스만 그 버킷의 행을 전송하므로,
+ *   여러 인스턴스가 동시에 실행되어도 같은 키(orderId)의 행을 서로 다른 인스턴스가 나눠 보내 순서가 뒤집히지 않음
+ * - 배치 내 전송은 파이프라이닝하고, 레코드별 콜백에서 전송 지표를 기록한 뒤 ack를 받은 행만 일괄 삭제
+ * - 전송에 실패한 행은 남겨 두었다가 다음 주기에 다시 전송 (at-least-once)
+ * - 같은 메시지 키의 순서를 지키기 위해, 실패한 행 뒤의 같은 키 행은 전송에 성공했더라도 함께 남겨 둠
+ *
+ * 비즈니스 트랜잭션은 outbox에 기록만 하므로 브로커 지연이나 장애에 묶이지 않습니다.
+ * 프로듀서 튜닝(멱등성, 압축, linger)은 saga-kafka-producer.yml에 있습니다.
+ * 세 서비스가 같이 쓰며, 테이블은 각 서비스의 OutboxRecordSource 구현(OutboxEventRepository)으로 접근합니다.
+ *
+ * outbox.relay.transactional=true 이면 배치를 Kafka 트랜잭션 하나로 전송합니다.
+ * 실패한 시도의 레코드는 abort되어 read_committed 컨슈머에게 보이지 않으므로 재전송으로 인한 중복이 줄어듭니다.
+ * Kafka 커밋 후 outbox 삭제 커밋 전에 중단되면 배치가 다시 전송될 수 있으며, 이 중복은 컨슈머가 eventId로 걸러냅니다.
+ * transactional.id는 인스턴스마다 다르고 재시작해도 같아야 합니다 (outbox.relay.instance-id, 기본값 HOSTNAME).
+ * 그래야 재시작한 릴레이가 이전 프로세스의 열린 트랜잭션을 fencing하여 abort하고, read_committed 컨슈머가
+ * transaction.timeout.ms 동안 멈추지 않습니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private final OutboxRecordSource outboxRecordSource;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonMapper jsonMapper;
+    private final AbstractSagaMetrics sagaMetrics;
+
+    @Value("${outbox.relay.batch-size:500}")
+    private int batchSize;
+
+    @Value("${outbox.relay.key-buckets:16}")
+    private int keyBuckets;
+
+    @Value("${outbox.relay.transactional:false}")
+    private boolean transactional;
+
+    @Value("${outbox.relay.transaction-id-prefix:${spring.application.name}-outbox-${outbox.relay.instance-id:${HOSTNAME:0}}-}")
+    private String transactionIdPrefix;
+
+    private KafkaTemplate<String, Object> transactionalTemplate;
+
+    @PostConstruct
+    void initTransactionalTemplate() {
+        if (transactional) {
+            // 공통 프로듀서 설정에 transactional.id만 더한 별도 팩토리 (다른 전송은 비트랜잭션 그대로)
+            transactionalTemplate = new KafkaTemplate<>(kafkaTemplate.getProducerFactory(),
+                    Map.of(ProducerConfig.TRANSACTIONAL_ID_CONFIG, transactionIdPrefix));
+        }
+    }
+
+    @PreDestroy
+    void closeTransactionalTemplate() {
+        if (transactionalTemplate != null) {
+            transactionalTemplate.getProducerFactory().reset();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:100}")
+    public void relay() {
+        try {
+            int relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("아웃박스 이벤트 전송에 실패했습니다. 다음 주기에 재시도합니다.", e);
+        }
+    }
+
+    private int relayBatch() {
+        List<? extends OutboxRecord> batch = outboxRecordSource.lockBatchForRelay(batchSize, keyBuckets);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        for (OutboxRecord outboxEvent : batch) {
+            sagaMetrics.recordOutboxDelay(outboxEvent.getCreatedAt());
+        }
+        List<Long> sentIds = transactionalTemplate != null ? sendInTransaction(batch) : sendEach(batch);
+        sagaMetrics.recordOutboxPublish(start);
+
+        if (!sentIds.isEmpty()) {
+            outboxRecordSource.deleteRelayed(sentIds);
+        }
+        if (sentIds.size() < batch.size()) {
+            log.warn("아웃박스 이벤트 {}건 중 {}건을 남겨 둡니다 (전송 실패 또는 같은 키의 앞선 실패). 다음 주기에 재시도합니다.",
+                    batch.size(), batch.size() - sentIds.size());
+        }
+        return sentIds.size();
+    }
+
+    /**
+     * 배치를 파이프라이닝하여 전송하고, 삭제해도 되는 행 ID를 반환합니다.
+     *
+     * 어떤 키의 행이 실패하면 그 뒤의 같은 키 행은 삭제하지 않습니다. 성공한 뒤쪽 행만 지우면 다음 주기에
+     * 실패한 앞쪽 행이 뒤늦게 전송되어 키별 순서가 뒤집히기 때문입니다. 남겨 둔 행은 다음 주기에 앞쪽 행 뒤에
+     * 다시 전송되며, 이미 전송된 사본은 컨슈머가 eventId로 걸러 냅니다.
+     * send() 호출 자체가 바로 실패한 키는 배치의 나머지 행을 아예 보내지 않습니다.
+     */
+    private List<Long> sendEach(List<? extends OutboxRecord> batch) {
+        List<CompletableFuture<Long>> sends = new ArrayList<>(batch.size());
+        Set<String> rejectedKeys = new HashSet<>();
+        for (OutboxRecord outboxEvent : batch) {
+            String key = outboxEvent.getMessageKey();
+            if (key != null && rejectedKeys.contains(key)) {
+                sends.add(CompletableFuture.completedFuture(null));
+                continue;
+            }
+            CompletableFuture<Long> sent = send(kafkaTemplate, outboxEvent);
+            if (key != null && sent.isDone() && sent.join() == null) {
+                rejectedKeys.add(key);
+            }
+            sends.add(sent);
+        }
+
+        List<Long> sentIds = new ArrayList<>(sends.size());
+        Set<String> failedKeys = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Long id = sends.get(i).join();
+            String key = batch.get(i).getMessageKey();
+            if (id == null) {
+                if (key != null) {
+                    failedKeys.add(key);
+                }
+            } else if (key == null || !failedKeys.contains(key)) {
+                sentIds.add(id);
+            }
+        }
+        return sentIds;
+    }
+
+    /**
+     * 배치 전체를 Kafka 트랜잭션 하나로 전송합니다. 하나라도 실패하면 abort되고 예외가 던져져
+     * outbox 트랜잭션도 롤백되므로, 배치 전체가 다음 주기에 다시 전송됩니다.
+     */
+    private List<Long> sendInTransaction(List<? extends OutboxRecord> batch) {
+        return transactionalTemplate.executeInTransaction(operations -> {
+            List<CompletableFuture<Long>> sends = new ArrayList<>(batch.size());
+            for (OutboxRecord outboxEvent : batch) {
+                sends.add(send(operations, outboxEvent));
+            }
+            operations.flush();
+            List<Long> sentIds = awaitSent(sends);
+            if (sentIds.size() < batch.size()) {
+                throw new IllegalStateException("아웃박스 이벤트 " + (batch.size() - sentIds.size())
+                        + "건 전송에 실패하여 Kafka 트랜잭션을 abort합니다.");
+            }
+            return sentIds;
+        });
+    }
+
+    private List<Long> awaitSent(List<CompletableFuture<Long>> sends) {
+        List<Long> sentIds = new ArrayList<>(sends.size());
+        for (CompletableFuture<Long> sent : sends) {
+            Long id = sent.join();
+            if (id != null) {
+                sentIds.add(id);
+            }
+        }
+        return sentIds;
+    }
+
+    /**
+     * 레코드 하나를 전송하고, ack를 받으면 outbox 행 ID를, 실패하면 null을 돌려주는 future를 반환합니다.
+     * 브로커 재시도는 프로듀서가 delivery.timeout.ms 동안 처리하므로, 여기서는 결과만 기록합니다.
+     */
+    private CompletableFuture<Long> send(KafkaOperations<String, Object> operations, OutboxRecord outboxEvent) {
+        String topic = outboxEvent.getTopic();
+        long sendStart = System.nanoTime();
+        CompletableFuture<SendResult<String, Object>> future;
+        try {
+            future = operations.send(topic, outboxEvent.getMessageKey(), toEvent(outboxEvent));
+        } catch (RuntimeException e) {
+            // 직렬화 실패, max.block.ms 초과 등 send() 호출 자체가 실패한 경우
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.handle((result, ex) -> {
+            sagaMetrics.recordSend(topic, sendStart, ex == null);
+            if (ex != null) {
+                log.debug("아웃박스 이벤트 전송 실패. id={}, topic={}", outboxEvent.getId(), topic, ex);
+                return null;
+            }
+            return outboxEvent.getId();
+        });
+    }
+
+    private Object toEvent(OutboxRecord outboxEvent) {
+        if (outboxEvent.getBody() != null) {
+            return outboxEvent.getBody();
+        }
+        // 바이너리 포맷 도입 전에 JSON으로 기록된 행
+        SagaEventType type = SagaEventType.fromClassName(outboxEvent.getEventType());
+        if (type == null) {
+            throw new IllegalStateException("알 수 없는 이벤트 타입입니다: " + outboxEvent.getEventType());
+        }
+        return jsonMapper.readValue(outboxEvent.getPayload(), type.eventClass());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.saga.event.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 동시에 처리하는 HTTP 요청 수를 max-concurrent로 제한합니다 (가상 스레드 프로파일에서 사용).
+ *
+ * 가상 스레드에서는 Tomcat 스레드 풀이 상한 역할을 하지 않아, 들어온 요청이 모두 곧바로 JDBC 커넥션을 기다리게 됩니다.
+ * 자리가 나기를 max-wait-ms까지 기다린 뒤에도 없으면 커넥션 풀에서 타임아웃되기 전에 503(Retry-After)으로 바로 거절합니다.
+ * 비동기 요청(DeferredResult, SSE)은 핸들러가 반환되면 자리를 돌려주므로 대기 중인 응답이 자리를 차지하지 않습니다.
+ * actuator 경로는 제한하지 않습니다 (과부하 중에도 헬스 체크 / 지표 수집이 되도록).
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final long maxWaitMs;
+    private final Counter rejected;
+
+    public ConcurrencyLimitFilter(int maxConcurrent, long maxWaitMs, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrent);
+        this.maxWaitMs = maxWaitMs;
+        this.rejected = Counter.builder("saga.http.rejected").register(meterRegistry);
+        Gauge.builder("saga.http.in-flight", () -> maxConcurrent - permits.availablePermits()).register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "동시 요청 한도를 초과했습니다.");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+}
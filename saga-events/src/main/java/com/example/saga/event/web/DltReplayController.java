@@ -0,0 +1,34 @@
+package com.example.saga.event.web;
+
+import com.example.saga.event.kafka.DltReplayer;
+import com.example.saga.event.kafka.SagaRetryTopics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/admin/dlt")
+@RequiredArgsConstructor
+public class DltReplayController {
+
+    private final DltReplayer dltReplayer;
+    private final SagaRetryTopics sagaRetryTopics;
+
+    /**
+     * 이 서비스의 DLT에 쌓인 메시지를 최대 max건 이 서비스의 재시도 토픽으로 다시 보냅니다.
+     * 예) POST /admin/dlt/inventory-reserved-payment-dlt/replay?max=1000
+     */
+    @PostMapping("/{dltTopic}/replay")
+    public ResponseEntity<Map<String, Object>> replay(@PathVariable String dltTopic,
+                                                      @RequestParam(defaultValue = "1000") int max) {
+        if (!sagaRetryTopics.isDlt(dltTopic)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "이 서비스의 DLT가 아닙니다: " + dltTopic);
+        }
+        int replayed = dltReplayer.replay(dltTopic, max);
+        return ResponseEntity.ok(Map.of("topic", dltTopic, "replayed", replayed));
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.saga.event.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * HTTP 요청 동시 처리 수 제한입니다 (saga.http.concurrency-limit.enabled=true, 가상 스레드 프로파일에서 켬).
+ * 상한의 기본값은 커넥션 풀 크기의 2배입니다 (풀을 기다리는 요청이 한 바퀴 분량을 넘지 않게).
+ */
+@Configuration
+@ConditionalOnProperty(name = "saga.http.concurrency-limit.enabled", havingValue = "true")
+public class HttpConcurrencyConfig {
+
+    @Bean
+    public ConcurrencyLimitFilter concurrencyLimitFilter(
+            MeterRegistry meterRegistry,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${saga.http.concurrency-limit.max-concurrent:0}") int maxConcurrent,
+            @Value("${saga.http.concurrency-limit.max-wait-ms:1000}") long maxWaitMs) {
+        return new ConcurrencyLimitFilter(maxConcurrent > 0 ? maxConcurrent : poolSize * 2, maxWaitMs, meterRegistry);
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.saga.event.kafka;
+
+import com.example.saga.event.InventoryReservedEvent;
+import com.example.saga.event.codec.SagaEventCodec;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * saga.events.format=json으로 되돌렸을 때 이전 컨슈머(baseline의 JsonDeserializer 설정)가 읽을 수 있는지 확인합니다.
+ */
+class SagaEventSerializerTest {
+
+    private static final String TOPIC = "inventory-reserved";
+
+    @Test
+    void jsonModeIsReadableByLegacyJsonDeserializer() {
+        InventoryReservedEvent event = InventoryReservedEvent.builder()
+                .eventId("event-1")
+                .sagaStartedAt(1L)
+                .occurredAt(2L)
+                .orderId(10L)
+                .userId(20L)
+                .amount(3000)
+                .build();
+
+        // outbox에는 바이너리로 저장되어 있으므로 byte[]로 넘겨 릴레이와 같은 경로를 탄다
+        RecordHeaders headers = new RecordHeaders();
+        byte[] body = serializer("json").serialize(TOPIC, headers, SagaEventCodec.encode(event));
+
+        assertThat(new String(headers.lastHeader(SagaEventSerializer.TYPE_ID_HEADER).value(), StandardCharsets.UTF_8))
+                .isEqualTo("inventoryReserved");
+
+        // baseline application.yml의 설정 + README에 적은 토큰 매핑
+        try (JsonDeserializer<Object> legacy = new JsonDeserializer<>()) {
+            legacy.configure(Map.of(
+                    "spring.json.trusted.packages", "*",
+                    "spring.json.type.mapping", "inventoryReserved:" + LegacyInventoryReservedEvent.class.getName()),
+                    false);
+            Object read = legacy.deserialize(TOPIC, headers, body);
+
+            assertThat(read).isInstanceOf(LegacyInventoryReservedEvent.class);
+            assertThat(((LegacyInventoryReservedEvent) read).getOrderId()).isEqualTo(10L);
+        }
+
+        // 새 컨슈머도 같은 레코드를 읽는다
+        assertThat(new SagaEventDeserializer().deserialize(TOPIC, headers, body)).isEqualTo(event);
+    }
+
+    @Test
+    void binaryModeSendsNoTypeHeader() {
+        RecordHeaders headers = new RecordHeaders();
+        byte[] encoded = SagaEventCodec.encode(InventoryReservedEvent.builder().orderId(10L).build());
+
+        assertThat(serializer("binary").serialize(TOPIC, headers, encoded)).isSameAs(encoded);
+        assertThat(headers.lastHeader(SagaEventSerializer.TYPE_ID_HEADER)).isNull();
+    }
+
+    private static SagaEventSerializer serializer(String format) {
+        SagaEventSerializer serializer = new SagaEventSerializer();
+        serializer.configure(Map.of(SagaEventSerializer.FORMAT_CONFIG, format), false);
+        return serializer;
+    }
+
+    /**
+     * baseline의 order-service가 쓰던 이벤트 클래스와 같은 모양입니다 (모르는 필드는 JsonDeserializer가 무시).
+     */
+    public static class LegacyInventoryReservedEvent {
+        private Long orderId;
+        private Long productId;
+        private Integer quantity;
+
+        public Long getOrderId() {
+            return orderId;
+        }
+
+        public void setOrderId(Long orderId) {
+            this.orderId = orderId;
+        }
+
+        public Long getProductId() {
+            return productId;
+        }
+
+        public void setProductId(Long productId) {
+            this.productId = productId;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+    }
+}
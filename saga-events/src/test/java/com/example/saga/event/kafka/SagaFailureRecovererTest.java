@@ -0,0 +1,172 @@
+package com.example.saga.event.kafka;
+
+import com.example.saga.event.InventoryReservedEvent;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.annotation.DltHandler;
+import org.springframework.kafka.annotation.EnableKafka;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.retrytopic.DestinationTopicResolver;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 리스너 밖(비동기 작업)에서 계속 실패하는 레코드가 SagaFailureRecoverer를 거쳐
+ * @SagaRetryableTopic의 모든 재시도 토픽(1s → 4s → 16s)을 지연대로 지난 뒤 DLT에 도착하는지 확인합니다.
+ */
+@SpringJUnitConfig
+@EmbeddedKafka(topics = SagaFailureRecovererTest.TOPIC, partitions = 1)
+@TestPropertySource(properties = {"saga.retry.service=test", "saga.retry.attempts=4", "saga.kafka.topic.partitions=1"})
+class SagaFailureRecovererTest {
+
+    static final String TOPIC = "inventory-reserved";
+    static final String LISTENER_ID = "failing-listener";
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private FailingListener listener;
+
+    @Test
+    void walksEveryRetryTierBeforeTheDlt() throws Exception {
+        kafkaTemplate.send(TOPIC, "1", InventoryReservedEvent.builder().eventId("event-1").orderId(1L).build()).get();
+
+        assertThat(listener.deadLettered.await(60, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(listener.attempts).extracting(Attempt::topic).containsExactly(
+                TOPIC,
+                TOPIC + "-test-retry-1000",
+                TOPIC + "-test-retry-4000",
+                TOPIC + "-test-retry-16000",
+                TOPIC + "-test-dlt");
+        // 재시도 헤더(backoff 시각)가 이어져야 재시도 리스너가 지연만큼 기다린다
+        long[] delays = {1000, 4000, 16000};
+        for (int i = 0; i < delays.length; i++) {
+            assertThat(listener.attempts.get(i + 1).receivedAt() - listener.attempts.get(i).receivedAt())
+                    .as("retry %d", i + 1)
+                    .isGreaterThanOrEqualTo(delays[i] - 100);
+        }
+    }
+
+    record Attempt(String topic, long receivedAt) {
+    }
+
+    static class FailingListener {
+
+        final List<Attempt> attempts = new CopyOnWriteArrayList<>();
+        final CountDownLatch deadLettered = new CountDownLatch(1);
+
+        private final SagaFailureRecoverer recoverer;
+
+        FailingListener(SagaFailureRecoverer recoverer) {
+            this.recoverer = recoverer;
+        }
+
+        // 결제 엔진처럼 다른 스레드에서 실패하고, 실패한 레코드를 넘긴 뒤에 커밋한다
+        @SagaRetryableTopic
+        @KafkaListener(id = LISTENER_ID, topics = TOPIC, groupId = "retry-test-group")
+        public void consume(ConsumerRecord<String, Object> record, Acknowledgment acknowledgment) {
+            attempts.add(new Attempt(record.topic(), System.currentTimeMillis()));
+            CompletableFuture.runAsync(() -> {
+                throw new IllegalStateException("PG 응답 없음");
+            }).whenComplete((ignored, failure) -> {
+                recoverer.recover(LISTENER_ID, record, failure);
+                acknowledgment.acknowledge();
+            });
+        }
+
+        @DltHandler
+        public void handleDeadLetter(ConsumerRecord<String, Object> record, Acknowledgment acknowledgment) {
+            attempts.add(new Attempt(record.topic(), System.currentTimeMillis()));
+            acknowledgment.acknowledge();
+            deadLettered.countDown();
+        }
+    }
+
+    @Configuration
+    @EnableKafka
+    static class Config {
+
+        @Value("${spring.embedded.kafka.brokers}")
+        private String brokers;
+
+        @Bean
+        public KafkaAdmin kafkaAdmin() {
+            return new KafkaAdmin(Map.of(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, brokers));
+        }
+
+        @Bean
+        public KafkaTemplate<String, Object> kafkaTemplate() {
+            return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(Map.of(
+                    ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, brokers,
+                    ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                    ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, SagaEventSerializer.class)));
+        }
+
+        @Bean
+        public ConsumerFactory<String, Object> consumerFactory() {
+            return new DefaultKafkaConsumerFactory<>(Map.of(
+                    ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, brokers,
+                    ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest",
+                    ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                    ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, SagaEventDeserializer.class));
+        }
+
+        // payment-service와 같은 manual + async-acks
+        @Bean
+        public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory(
+                ConsumerFactory<String, Object> consumerFactory) {
+            ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+            factory.setConsumerFactory(consumerFactory);
+            factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+            factory.getContainerProperties().setAsyncAcks(true);
+            return factory;
+        }
+
+        // 재시도 토픽의 backoff가 파티션을 멈췄다 다시 시작할 때 사용
+        @Bean
+        public TaskScheduler taskScheduler() {
+            return new ThreadPoolTaskScheduler();
+        }
+
+        @Bean
+        public SagaFailureRecoverer sagaFailureRecoverer(ObjectProvider<DestinationTopicResolver> destinationTopicResolver) {
+            return new SagaFailureRecoverer(destinationTopicResolver);
+        }
+
+        @Bean
+        public FailingListener failingListener(SagaFailureRecoverer sagaFailureRecoverer) {
+            return new FailingListener(sagaFailureRecoverer);
+        }
+    }
+}